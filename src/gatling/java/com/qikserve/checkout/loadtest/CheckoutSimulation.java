@@ -0,0 +1,76 @@
+package com.qikserve.checkout.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.jsonPath;
+import static io.gatling.javaapi.core.CoreDsl.rampUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Open-model checkout flow: every arriving user creates a basket, adds a few items, asks for the savings and checks
+ * out. Configure with {@code -DbaseUrl}, {@code -Drate} (arrivals per second), {@code -Dduration} and
+ * {@code -Drampup} (ISO-8601 durations).
+ */
+public class CheckoutSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8082");
+    private static final double RATE = Double.parseDouble(System.getProperty("rate", "20"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("duration", "PT2M"));
+    private static final Duration RAMPUP = Duration.parse(System.getProperty("rampup", "PT30S"));
+    private static final int MAX_ITEMS = Integer.getInteger("maxItems", 4);
+    private static final double MAX_FAILED_PERCENT = Double.parseDouble(System.getProperty("maxFailedPercent", "1"));
+
+    private static final List<String> PRODUCT_IDS = List.of("PWWe3w1SDU", "Dwt5F7KAhi", "C8GDyLrHJb", "4MB7UfpTQs");
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    private final ChainBuilder createBasket = exec(http("create basket")
+            .post("/baskets")
+            .check(status().is(201), jsonPath("$.id").saveAs("basketId")));
+
+    private final ChainBuilder addItems = exec(session -> session.set("itemCount",
+            ThreadLocalRandom.current().nextInt(1, MAX_ITEMS + 1)))
+            .repeat("#{itemCount}").on(exec(session -> session.setAll(Map.of(
+                            "productId", PRODUCT_IDS.get(ThreadLocalRandom.current().nextInt(PRODUCT_IDS.size())),
+                            "quantity", ThreadLocalRandom.current().nextInt(1, 6))))
+                    .exec(http("add item")
+                            .post("/baskets/#{basketId}/item")
+                            .body(StringBody("{\"product_id\":\"#{productId}\",\"quantity\":#{quantity}}"))
+                            .check(status().is(201))));
+
+    private final ChainBuilder savings = exec(http("savings")
+            .get("/baskets/#{basketId}/savings")
+            .check(status().is(200)));
+
+    private final ChainBuilder checkout = exec(http("checkout")
+            .post("/baskets/#{basketId}/checkout")
+            .check(status().is(200)));
+
+    private final ScenarioBuilder checkoutFlow = scenario("checkout flow")
+            .exec(createBasket, addItems, savings, checkout);
+
+    {
+        setUp(checkoutFlow.injectOpen(
+                rampUsersPerSec(1).to(RATE).during(RAMPUP),
+                constantUsersPerSec(RATE).during(DURATION)))
+                .protocols(httpProtocol)
+                .assertions(global().failedRequests().percent().lte(MAX_FAILED_PERCENT));
+    }
+}
@@ -0,0 +1,57 @@
+package com.qikserve.checkout.benchmark;
+
+import com.qikserve.checkout.model.BasketItem;
+import com.qikserve.checkout.model.dto.Product;
+import com.qikserve.checkout.service.BasketItemService;
+import com.qikserve.checkout.service.factory.PromotionStrategyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BasketPricingBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int basketSize;
+
+    @Param({"0", "1", "3", "8"})
+    private int promotionsPerProduct;
+
+    private Product[] lineProducts;
+    private int[] lineQuantities;
+    private List<BasketItem> basketItems;
+    private BasketItemService basketItemService;
+
+    @Setup
+    public void setUp() {
+        var products = BenchmarkFixtures.products(basketSize, promotionsPerProduct);
+        lineProducts = products.toArray(Product[]::new);
+        basketItems = BenchmarkFixtures.basketItems(products);
+        lineQuantities = basketItems.stream().mapToInt(BasketItem::getQuantity).toArray();
+        basketItemService = new BasketItemService(new BenchmarkFixtures.FixedProductRepository(products), null, null, null);
+    }
+
+    @Benchmark
+    public long applyPromotions() {
+        var total = 0L;
+        for (int i = 0; i < lineProducts.length; i++) {
+            total += PromotionStrategyFactory.applyPromotions(lineProducts[i], lineQuantities[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long computePromotionalPrice() {
+        return basketItemService.computePromotionalPrice(basketItems);
+    }
+}
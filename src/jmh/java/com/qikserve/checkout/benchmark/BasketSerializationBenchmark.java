@@ -0,0 +1,128 @@
+package com.qikserve.checkout.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.qikserve.checkout.config.ViewCachingJackson2HttpMessageConverter;
+import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.model.BasketItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the stock Jackson converter with {@link ViewCachingJackson2HttpMessageConverter} on the views the basket
+ * endpoints respond with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BasketSerializationBenchmark {
+
+    @Param({"1", "10", "1000", "10000"})
+    private int basketSize;
+
+    private MappingJackson2HttpMessageConverter defaultConverter;
+    private ViewCachingJackson2HttpMessageConverter cachedConverter;
+    private Basket basket;
+    private BasketItem basketItem;
+    private BufferedOutputMessage output;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .build();
+        defaultConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        cachedConverter = new ViewCachingJackson2HttpMessageConverter(objectMapper)
+                .precompile(Basket.Views.Read.class, Basket.class)
+                .precompile(Basket.Views.Created.class, Basket.class)
+                .precompile(BasketItem.Views.Read.class, BasketItem.class);
+        basket = BenchmarkFixtures.basket(basketSize);
+        basketItem = basket.getBasketItems().getFirst();
+        output = new BufferedOutputMessage(basketSize * 96);
+    }
+
+    @Benchmark
+    public int basketReadDefault() throws IOException {
+        return this.write(defaultConverter, basket, Basket.class, Basket.Views.Read.class);
+    }
+
+    @Benchmark
+    public int basketReadCached() throws IOException {
+        return this.write(cachedConverter, basket, Basket.class, Basket.Views.Read.class);
+    }
+
+    @Benchmark
+    public int basketCreatedDefault() throws IOException {
+        return this.write(defaultConverter, basket, Basket.class, Basket.Views.Created.class);
+    }
+
+    @Benchmark
+    public int basketCreatedCached() throws IOException {
+        return this.write(cachedConverter, basket, Basket.class, Basket.Views.Created.class);
+    }
+
+    @Benchmark
+    public int basketItemReadDefault() throws IOException {
+        return this.write(defaultConverter, basketItem, BasketItem.class, BasketItem.Views.Read.class);
+    }
+
+    @Benchmark
+    public int basketItemReadCached() throws IOException {
+        return this.write(cachedConverter, basketItem, BasketItem.class, BasketItem.Views.Read.class);
+    }
+
+    // mirrors what JsonViewResponseBodyAdvice hands to the converter for a @JsonView handler
+    private int write(MappingJackson2HttpMessageConverter converter, Object body, Class<?> type, Class<?> view)
+            throws IOException {
+        var value = new MappingJacksonValue(body);
+        value.setSerializationView(view);
+        output.reset();
+        converter.write(value, type, MediaType.APPLICATION_JSON, output);
+        return output.size();
+    }
+
+    private static final class BufferedOutputMessage implements HttpOutputMessage {
+        private final ByteArrayOutputStream body;
+        private HttpHeaders headers = new HttpHeaders();
+
+        private BufferedOutputMessage(int initialSize) {
+            this.body = new ByteArrayOutputStream(initialSize);
+        }
+
+        void reset() {
+            body.reset();
+            headers = new HttpHeaders();
+        }
+
+        int size() {
+            return body.size();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
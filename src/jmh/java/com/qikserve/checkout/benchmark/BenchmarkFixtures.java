@@ -0,0 +1,115 @@
+package com.qikserve.checkout.benchmark;
+
+import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.model.BasketItem;
+import com.qikserve.checkout.model.BasketStatus;
+import com.qikserve.checkout.model.dto.BuyXGetYFree;
+import com.qikserve.checkout.model.dto.FlatPercent;
+import com.qikserve.checkout.model.dto.Product;
+import com.qikserve.checkout.model.dto.Promotion;
+import com.qikserve.checkout.model.dto.QtyBasedPriceOverride;
+import com.qikserve.checkout.repository.ProductRepository;
+import com.qikserve.checkout.service.factory.PromotionStrategyFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<Product> products(int count, int promotionsPerProduct) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Product.builder()
+                        .id("P" + i)
+                        .name("Product " + i)
+                        .price(500 + (i * 37) % 2000)
+                        .promotions(promotions(i, promotionsPerProduct))
+                        .build())
+                .map(PromotionStrategyFactory::compile)
+                .toList();
+    }
+
+    static List<BasketItem> basketItems(List<Product> products) {
+        return IntStream.range(0, products.size())
+                .mapToObj(i -> BasketItem.builder()
+                        .id((long) i)
+                        .basketId(1L)
+                        .productId(products.get(i).getId())
+                        .quantity(quantity(i))
+                        .build())
+                .toList();
+    }
+
+    static Basket basket(int lines) {
+        var basket = Basket.builder()
+                .id(1L)
+                .status(BasketStatus.OPEN)
+                .total(new BigDecimal("12.99"))
+                .version(0L)
+                .build();
+        basket.setBasketItems(IntStream.range(0, lines)
+                .mapToObj(i -> BasketItem.builder()
+                        .id((long) i)
+                        .basketId(basket.getId())
+                        .basket(basket)
+                        .productId("P" + i)
+                        .quantity(quantity(i))
+                        .build())
+                .toList());
+        return basket;
+    }
+
+    static int quantity(int line) {
+        return 1 + line % 5;
+    }
+
+    private static List<Promotion> promotions(int product, int count) {
+        var promotions = new ArrayList<Promotion>(count);
+        for (int i = 0; i < count; i++) {
+            promotions.add(switch ((product + i) % 3) {
+                case 0 -> BuyXGetYFree.builder().id("B" + i).requiredQty(2).freeQty(1).build();
+                case 1 -> QtyBasedPriceOverride.builder().id("Q" + i).requiredQty(2).price(1799).build();
+                default -> FlatPercent.builder().id("F" + i).amount(10).build();
+            });
+        }
+        return promotions;
+    }
+
+    // serves a fixed catalog without the product API, cache or snapshot behind it
+    static final class FixedProductRepository extends ProductRepository {
+        private final Map<String, Product> productsById;
+
+        FixedProductRepository(Collection<Product> products) {
+            super(null, null, null);
+            this.productsById = products.stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+        }
+
+        @Override
+        public Optional<Product> findById(String productId) {
+            return Optional.ofNullable(productsById.get(productId));
+        }
+
+        @Override
+        public List<Product> findAllById(Collection<String> productIds) {
+            return productIds.stream()
+                    .map(productsById::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+
+        @Override
+        public Optional<Long> catalogVersion() {
+            return Optional.of(1L);
+        }
+    }
+}
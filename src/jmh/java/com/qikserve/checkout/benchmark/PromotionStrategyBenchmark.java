@@ -0,0 +1,56 @@
+package com.qikserve.checkout.benchmark;
+
+import com.qikserve.checkout.model.dto.BuyXGetYFree;
+import com.qikserve.checkout.model.dto.FlatPercent;
+import com.qikserve.checkout.model.dto.QtyBasedPriceOverride;
+import com.qikserve.checkout.service.promotion.BuyXGetYFreeStrategy;
+import com.qikserve.checkout.service.promotion.FlatPercentStrategy;
+import com.qikserve.checkout.service.promotion.PromotionStrategy;
+import com.qikserve.checkout.service.promotion.QtyBasedPriceOverrideStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PromotionStrategyBenchmark {
+
+    @Param({"1", "2", "10", "1000"})
+    private int quantity;
+
+    private int priceInPence;
+    private PromotionStrategy buyXGetYFree;
+    private PromotionStrategy qtyBasedPriceOverride;
+    private PromotionStrategy flatPercent;
+
+    @Setup
+    public void setUp() {
+        priceInPence = 1299;
+        buyXGetYFree = new BuyXGetYFreeStrategy(BuyXGetYFree.builder().requiredQty(2).freeQty(1).build());
+        qtyBasedPriceOverride = new QtyBasedPriceOverrideStrategy(QtyBasedPriceOverride.builder().requiredQty(2).price(1799).build());
+        flatPercent = new FlatPercentStrategy(FlatPercent.builder().amount(10).build());
+    }
+
+    @Benchmark
+    public long buyXGetYFree() {
+        return buyXGetYFree.applyPromotion(quantity, priceInPence);
+    }
+
+    @Benchmark
+    public long qtyBasedPriceOverride() {
+        return qtyBasedPriceOverride.applyPromotion(quantity, priceInPence);
+    }
+
+    @Benchmark
+    public long flatPercent() {
+        return flatPercent.applyPromotion(quantity, priceInPence);
+    }
+}
@@ -0,0 +1,173 @@
+package com.qikserve.checkout.config;
+
+import com.qikserve.checkout.model.IdempotentResponse;
+import com.qikserve.checkout.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    // size of idempotency_keys.idempotency_key
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final IdempotencyService idempotencyService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        return !METHODS.contains(request.getMethod())
+                || !StringUtils.hasText(request.getHeader(IDEMPOTENCY_KEY))
+                || !(path.startsWith("/baskets") || path.startsWith("/basketItems"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // a key only replays the endpoint it was first sent to
+        var key = request.getMethod() + " " + request.getRequestURI() + " " + request.getHeader(IDEMPOTENCY_KEY);
+        if (key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), IDEMPOTENCY_KEY + " is too long");
+            return;
+        }
+        // the body is read up front so a reused key can be told apart from a retry before anything runs
+        var body = request.getInputStream().readAllBytes();
+        var requestHash = sha256(body);
+        var acquisition = idempotencyService.acquire(key, requestHash);
+        switch (acquisition.state()) {
+            case REPLAY -> this.replay(acquisition.response(), response);
+            case IN_PROGRESS -> response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + IDEMPOTENCY_KEY + " is still in progress");
+            case MISMATCH -> response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), IDEMPOTENCY_KEY + " was already used with a different request body");
+            case OWNED -> this.execute(key, requestHash, new CachedBodyRequest(request, body), response, filterChain);
+        }
+    }
+
+    private void execute(String key, String requestHash, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        var wrapper = new ContentCachingResponseWrapper(response);
+        var completed = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (isReplayable(wrapper.getStatus())) {
+                idempotencyService.complete(key, new IdempotentResponse(requestHash,
+                                                                        wrapper.getStatus(),
+                                                                        wrapper.getContentType(),
+                                                                        wrapper.getHeader(HttpHeaders.LOCATION),
+                                                                        wrapper.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.abandon(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotentResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        if (stored.body() != null && stored.body().length > 0) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    // server errors and conflicts are transient, so the client may retry them with the same key
+    private static boolean isReplayable(int status) {
+        return status < 500 && status != HttpStatus.CONFLICT.value() && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every Java platform", e);
+        }
+    }
+
+    // replays the body already consumed for hashing to the rest of the chain
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            var encoding = this.getCharacterEncoding();
+            var charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(this.getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.qikserve.checkout.config;
+
+import com.qikserve.checkout.jfr.CheckoutEvent;
+import com.qikserve.checkout.jfr.ProductFetchEvent;
+import com.qikserve.checkout.jfr.PromotionEvaluationEvent;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "checkout.jfr.recording.enabled", havingValue = "true")
+public class JfrRecordingConfig {
+
+    // continuous ring-buffer recording, dumped to the destination on exit or on demand with jcmd JFR.dump
+    @Bean(destroyMethod = "close")
+    public Recording checkoutRecording(@Value("${checkout.jfr.recording.settings:default}") String settings,
+                                       @Value("${checkout.jfr.recording.max-age:1h}") Duration maxAge,
+                                       @Value("${checkout.jfr.recording.max-size:250MB}") DataSize maxSize,
+                                       @Value("${checkout.jfr.recording.destination:logs/checkout-service.jfr}") Path destination)
+            throws IOException, ParseException {
+        var recording = new Recording(jdk.jfr.Configuration.getConfiguration(settings));
+        recording.setName("checkout-service");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setDumpOnExit(true);
+        recording.setDestination(destination);
+        recording.enable(CheckoutEvent.class);
+        recording.enable(ProductFetchEvent.class);
+        recording.enable(PromotionEvaluationEvent.class).withThreshold(Duration.of(100, ChronoUnit.MICROS));
+        recording.start();
+        log.info("Started continuous JFR recording '{}' with '{}' settings, dumping to {}",
+                recording.getName(), settings, destination.toAbsolutePath());
+        return recording;
+    }
+}
@@ -0,0 +1,21 @@
+package com.qikserve.checkout.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.model.BasketItem;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JsonWriterConfig {
+
+    // replaces Boot's default Jackson converter for Spring MVC
+    @Bean
+    public ViewCachingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new ViewCachingJackson2HttpMessageConverter(objectMapper)
+                .precompile(Basket.Views.Read.class, Basket.class)
+                .precompile(Basket.Views.Created.class, Basket.class)
+                .precompile(BasketItem.Views.Read.class, BasketItem.class)
+                .precompile(BasketItem.Views.Created.class, BasketItem.class);
+    }
+}
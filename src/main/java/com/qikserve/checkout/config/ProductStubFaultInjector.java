@@ -0,0 +1,54 @@
+package com.qikserve.checkout.config;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replaces a share of the WireMock product responses with an error status, and delays the others by a
+ * log-normally distributed time, so load tests can exercise the product API failure and tail latency paths.
+ */
+public class ProductStubFaultInjector extends ResponseDefinitionTransformer {
+
+    private final double errorRate;
+    private final int errorStatus;
+    private final long lognormalMedianMillis;
+    private final double lognormalSigma;
+
+    public ProductStubFaultInjector(double errorRate, int errorStatus, long lognormalMedianMillis, double lognormalSigma) {
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.lognormalMedianMillis = lognormalMedianMillis;
+        this.lognormalSigma = lognormalSigma;
+    }
+
+    @Override
+    public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition,
+                                        FileSource files, Parameters parameters) {
+        var random = ThreadLocalRandom.current();
+        if (random.nextDouble() < errorRate) {
+            return ResponseDefinitionBuilder.responseDefinition()
+                    .withStatus(errorStatus)
+                    .withBody("Injected product stub failure")
+                    .build();
+        }
+        if (lognormalMedianMillis <= 0) {
+            return responseDefinition;
+        }
+        // median * e^(sigma * N(0, 1)) is log-normal with the given median
+        var delay = lognormalMedianMillis * Math.exp(lognormalSigma * random.nextGaussian());
+        return ResponseDefinitionBuilder.like(responseDefinition)
+                .withFixedDelay((int) Math.min(delay, Integer.MAX_VALUE))
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "product-stub-fault-injector";
+    }
+}
@@ -0,0 +1,57 @@
+package com.qikserve.checkout.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+public class ProductsCircuitBreakerConfig {
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        var registry = CircuitBreakerRegistry.ofDefaults();
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public CircuitBreaker productsCircuitBreaker(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${product.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${product.circuit-breaker.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+            @Value("${product.circuit-breaker.slow-call-duration-threshold:1s}") Duration slowCallDurationThreshold,
+            @Value("${product.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${product.circuit-breaker.minimum-number-of-calls:20}") int minimumNumberOfCalls,
+            @Value("${product.circuit-breaker.wait-duration-in-open-state:10s}") Duration waitDurationInOpenState,
+            @Value("${product.circuit-breaker.permitted-calls-in-half-open-state:5}") int permittedCallsInHalfOpenState) {
+        var config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDurationThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build();
+        var circuitBreaker = circuitBreakerRegistry.circuitBreaker("products", config);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            var transition = event.getStateTransition();
+            log.warn("Products circuit breaker moved from {} to {}", transition.getFromState(), transition.getToState());
+            meterRegistry.counter("product.circuitbreaker.transitions",
+                    "from", transition.getFromState().name(),
+                    "to", transition.getToState().name()).increment();
+        });
+        return circuitBreaker;
+    }
+}
@@ -1,36 +1,126 @@
 package com.qikserve.checkout.config;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 
 @Configuration
 public class ProductsClientConfig {
 
+    private static final String READ_TIMEOUT_HANDLER = "productsReadTimeout";
+    private static final String WRITE_TIMEOUT_HANDLER = "productsWriteTimeout";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider productsConnectionProvider(
+            @Value("${product.api.pool.max-connections:100}") int maxConnections,
+            @Value("${product.api.pool.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+            @Value("${product.api.pool.pending-acquire-timeout:2s}") Duration pendingAcquireTimeout,
+            @Value("${product.api.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${product.api.pool.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${product.api.pool.evict-in-background:30s}") Duration evictInBackground) {
+        return ConnectionProvider.builder("products")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ReactorClientHttpConnector productsClientConnector(
+            ConnectionProvider productsConnectionProvider,
+            @Value("${product.api.timeout.connect:2s}") Duration connectTimeout,
+            @Value("${product.api.timeout.response:3s}") Duration responseTimeout,
+            @Value("${product.api.timeout.read:3s}") Duration readTimeout,
+            @Value("${product.api.timeout.write:3s}") Duration writeTimeout,
+            @Value("${product.api.keep-alive:true}") boolean keepAlive,
+            @Value("${product.api.compression:true}") boolean compression,
+            @Value("${product.api.h2c:false}") boolean h2c) {
+        var httpClient = HttpClient.create(productsConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .option(ChannelOption.SO_KEEPALIVE, keepAlive)
+                .keepAlive(keepAlive)
+                .compress(compression)
+                .responseTimeout(responseTimeout)
+                // per exchange, so idle pooled connections are only closed by the pool's max-idle-time
+                .doOnRequest((request, connection) -> connection
+                        .addHandlerLast(READ_TIMEOUT_HANDLER,
+                                new ReadTimeoutHandler(readTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(WRITE_TIMEOUT_HANDLER,
+                                new WriteTimeoutHandler(writeTimeout.toMillis(), TimeUnit.MILLISECONDS)))
+                .doOnResponse((response, connection) -> connection
+                        .removeHandler(READ_TIMEOUT_HANDLER)
+                        .removeHandler(WRITE_TIMEOUT_HANDLER));
+        if (h2c) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    public ProductsClientMetricsFilter productsClientMetricsFilter(MeterRegistry meterRegistry) {
+        return new ProductsClientMetricsFilter(meterRegistry);
+    }
+
     @Bean(name = "productsClient")
     @Profile({"wiremock-client", "test"})
-    public WebClient wiremockClient() {
-        var server = new WireMockServer(wireMockConfig()
+    public WebClient wiremockClient(ReactorClientHttpConnector productsClientConnector,
+                                    ProductsClientMetricsFilter productsClientMetricsFilter,
+                                    @Value("${product.stub.fixed-delay:0ms}") Duration fixedDelay,
+                                    @Value("${product.stub.lognormal-delay.median:0ms}") Duration lognormalMedian,
+                                    @Value("${product.stub.lognormal-delay.sigma:0.5}") double lognormalSigma,
+                                    @Value("${product.stub.error-rate:0}") double errorRate,
+                                    @Value("${product.stub.error-status:503}") int errorStatus) {
+        var config = wireMockConfig()
                 .dynamicPort()
-                .withRootDirectory("src/main/resources/wiremock"));
+                .withRootDirectory("src/main/resources/wiremock");
+        if (errorRate > 0 || lognormalMedian.isPositive()) {
+            config.extensions(new ProductStubFaultInjector(errorRate, errorStatus,
+                                                           lognormalMedian.toMillis(), lognormalSigma));
+        }
+        var server = new WireMockServer(config);
         server.start();
-        return WebClient.create(server.baseUrl());
+        if (fixedDelay.isPositive()) {
+            server.setGlobalFixedDelay(Math.toIntExact(fixedDelay.toMillis()));
+        }
+        return WebClient.builder()
+                .baseUrl(server.baseUrl())
+                .clientConnector(productsClientConnector)
+                .filter(productsClientMetricsFilter)
+                .build();
     }
 
     @Bean(name = "productsClient")
     @Profile("api-client")
     public WebClient apiClient(
+            ReactorClientHttpConnector productsClientConnector,
+            ProductsClientMetricsFilter productsClientMetricsFilter,
             @Value("${product.api.base.url}") String baseUrl,
             @Value("${product.api.token}") String token) {
         var builder = WebClient.builder()
-                .baseUrl(baseUrl);
+                .baseUrl(baseUrl)
+                .clientConnector(productsClientConnector)
+                .filter(productsClientMetricsFilter);
         if (Objects.nonNull(token)) {
             builder.defaultHeaders(
                     header -> header.setBearerAuth(token)
@@ -0,0 +1,73 @@
+package com.qikserve.checkout.config;
+
+import com.qikserve.checkout.jfr.ProductFetchEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times every product API exchange as {@code product.upstream.requests}, tagged by method, URI template, status and
+ * outcome, and records it as a {@link ProductFetchEvent} for JFR.
+ */
+public class ProductsClientMetricsFilter implements ExchangeFilterFunction {
+
+    private static final String METRIC_NAME = "product.upstream.requests";
+    private static final String PRODUCTS_PATH = "/products";
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private final MeterRegistry meterRegistry;
+
+    public ProductsClientMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            var sample = Timer.start(meterRegistry);
+            var event = ProductFetchEvent.start(productId(request));
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        var status = response.statusCode().value();
+                        var outcome = Outcome.forStatus(status).name();
+                        event.complete(status, outcome);
+                        this.stop(sample, request, String.valueOf(status), outcome);
+                    })
+                    .doOnError(error -> {
+                        event.complete(-1, Outcome.UNKNOWN.name());
+                        this.stop(sample, request, "IO_ERROR", Outcome.UNKNOWN.name());
+                    })
+                    .doOnCancel(() -> {
+                        event.complete(-1, "CANCELLED");
+                        this.stop(sample, request, "CANCELLED", Outcome.UNKNOWN.name());
+                    });
+        });
+    }
+
+    private static String productId(ClientRequest request) {
+        var ids = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams().getFirst("ids");
+        if (ids != null) {
+            return ids;
+        }
+        var path = request.url().getPath();
+        return path.endsWith(PRODUCTS_PATH) ? "*" : path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private void stop(Timer.Sample sample, ClientRequest request, String status, String outcome) {
+        sample.stop(Timer.builder(METRIC_NAME)
+                .description("Product API calls")
+                .tag("method", request.method().name())
+                .tag("uri", request.attribute(URI_TEMPLATE_ATTRIBUTE).map(String::valueOf).orElse(request.url().getPath()))
+                .tag("status", status)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,54 @@
+package com.qikserve.checkout.config;
+
+import com.qikserve.checkout.repository.reactive.BasketRowRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+
+@Configuration
+@Profile("reactive")
+@EnableR2dbcRepositories(basePackageClasses = BasketRowRepository.class)
+public class ReactiveConfig {
+
+    // Tomcat is on the classpath for the servlet stack and would otherwise win over Netty
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // JPA and R2DBC both register a transaction manager; keep the blocking one as the default for the JPA repositories
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean
+    public ReactiveTransactionManager reactiveTransactionManager(ConnectionFactory connectionFactory) {
+        return new R2dbcTransactionManager(connectionFactory);
+    }
+
+    @Bean
+    public RetryBackoffSpec basketOptimisticLockRetry(@Value("${basket.optimistic-lock.max-attempts:3}") int maxAttempts,
+                                                      @Value("${basket.optimistic-lock.backoff-millis:10}") long backoffMillis,
+                                                      @Value("${basket.optimistic-lock.max-backoff-millis:100}") long maxBackoffMillis) {
+        return Retry.backoff(maxAttempts - 1, Duration.ofMillis(backoffMillis))
+                .maxBackoff(Duration.ofMillis(maxBackoffMillis))
+                .filter(OptimisticLockingFailureException.class::isInstance);
+    }
+}
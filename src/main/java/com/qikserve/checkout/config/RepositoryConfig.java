@@ -0,0 +1,14 @@
+package com.qikserve.checkout.config;
+
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+// JPA repositories only; the R2DBC ones under repository.reactive are enabled by ReactiveConfig
+@Configuration
+@EnableJpaRepositories(basePackages = "com.qikserve.checkout.repository",
+                       excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX,
+                                                              pattern = "com\\.qikserve\\.checkout\\.repository\\.reactive\\..*"))
+public class RepositoryConfig {
+}
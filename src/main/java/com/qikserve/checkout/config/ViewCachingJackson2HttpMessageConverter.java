@@ -0,0 +1,78 @@
+package com.qikserve.checkout.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.TypeUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serializes {@code @JsonView} responses with an {@link ObjectWriter} built once per view and type, with the root
+ * serializer already resolved, instead of deriving a new writer for every response.
+ */
+public class ViewCachingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Map<WriterKey, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public ViewCachingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    public ViewCachingJackson2HttpMessageConverter precompile(Class<?> view, Class<?> type) {
+        this.getWriter(view, this.getObjectMapper().constructType(type));
+        return this;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        var contentType = outputMessage.getHeaders().getContentType();
+        if (!(object instanceof MappingJacksonValue value) || value.getSerializationView() == null
+                || value.getFilters() != null || this.isEventStream(contentType)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        var writer = this.getWriter(value.getSerializationView(), this.getValueType(value.getValue(), type));
+        try (var generator = writer.getFactory().createGenerator(
+                StreamUtils.nonClosing(outputMessage.getBody()), this.getJsonEncoding(contentType))) {
+            writer.writeValue(generator, value.getValue());
+            generator.flush();
+        } catch (InvalidDefinitionException ex) {
+            throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    private ObjectWriter getWriter(Class<?> view, JavaType javaType) {
+        return writers.computeIfAbsent(new WriterKey(view, javaType),
+                key -> this.getObjectMapper().writerWithView(key.view()).forType(key.type()));
+    }
+
+    private JavaType getValueType(Object value, Type type) {
+        if (type != null && TypeUtils.isAssignable(type, value.getClass())) {
+            return this.getJavaType(type, null);
+        }
+        return this.getObjectMapper().constructType(value.getClass());
+    }
+
+    private boolean isEventStream(MediaType contentType) {
+        return contentType != null && contentType.isCompatibleWith(MediaType.TEXT_EVENT_STREAM);
+    }
+
+    private record WriterKey(Class<?> view, JavaType type) {
+    }
+}
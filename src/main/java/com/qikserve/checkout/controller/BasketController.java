@@ -6,6 +6,8 @@
     import com.qikserve.checkout.model.dto.Savings;
     import com.qikserve.checkout.service.BasketService;
     import lombok.RequiredArgsConstructor;
+    import org.springframework.context.annotation.Profile;
+    import org.springframework.http.MediaType;
     import org.springframework.http.ResponseEntity;
     import org.springframework.web.bind.annotation.GetMapping;
     import org.springframework.web.bind.annotation.PathVariable;
@@ -15,8 +17,10 @@
     import org.springframework.web.bind.annotation.RestController;
 
     import java.net.URI;
+    import java.util.List;
 
     @RestController
+    @Profile("!reactive")
     @RequestMapping("/baskets")
     @RequiredArgsConstructor
     public class BasketController {
@@ -25,8 +29,13 @@
 
         @GetMapping("/{id}")
         @JsonView(Basket.Views.Read.class)
-        public ResponseEntity<Basket> getBasket(@PathVariable("id") Long id){
-            return ResponseEntity.of(basketService.getBasket(id));
+        public ResponseEntity<?> getBasket(@PathVariable("id") Long id){
+            // the stored summary is written as is, without loading or serializing the entity
+            return basketService.getBasketSummary(id)
+                    .<ResponseEntity<?>>map(summary -> ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(summary))
+                    .orElseGet(() -> ResponseEntity.of(basketService.getBasket(id)));
         }
 
         @PostMapping
@@ -46,6 +55,15 @@
                     .body(item);
         }
 
+        @PostMapping("/{id}/items")
+        @JsonView(BasketItem.Views.Created.class)
+        public ResponseEntity<List<BasketItem>> addBasketItems(@PathVariable("id") Long id,
+                                                               @RequestBody @JsonView(BasketItem.Views.Create.class) List<BasketItem> basketItems){
+            var items = basketService.addBasketItems(id, basketItems);
+            return ResponseEntity.created(URI.create("/baskets/" + id))
+                    .body(items);
+        }
+
         @PostMapping("/{id}/clear")
         public ResponseEntity<Void> clearBasket(@PathVariable("id") Long id){
             basketService.clearBasket(id);
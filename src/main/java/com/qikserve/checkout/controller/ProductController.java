@@ -3,6 +3,7 @@ package com.qikserve.checkout.controller;
 import com.qikserve.checkout.model.dto.Product;
 import com.qikserve.checkout.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/products")
 @RequiredArgsConstructor
 public class ProductController {
@@ -0,0 +1,95 @@
+package com.qikserve.checkout.controller.reactive;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.model.BasketItem;
+import com.qikserve.checkout.model.dto.Savings;
+import com.qikserve.checkout.service.reactive.ReactiveBasketService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/baskets")
+@RequiredArgsConstructor
+public class ReactiveBasketController {
+
+    private final ReactiveBasketService basketService;
+
+    @GetMapping("/{id}")
+    @JsonView(Basket.Views.Read.class)
+    public Mono<ResponseEntity<?>> getBasket(@PathVariable("id") Long id) {
+        // bytes are written as is, a String body would be encoded as a JSON string by Jackson
+        return basketService.getBasketSummary(id)
+                .<ResponseEntity<?>>map(summary -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(summary.getBytes(StandardCharsets.UTF_8)))
+                .switchIfEmpty(Mono.defer(() -> basketService.getBasket(id)
+                        .<ResponseEntity<?>>map(ResponseEntity::ok)
+                        .defaultIfEmpty(ResponseEntity.notFound().build())));
+    }
+
+    @PostMapping
+    @JsonView(Basket.Views.Created.class)
+    public Mono<ResponseEntity<Basket>> createBasket() {
+        return basketService.createBasket()
+                .map(basket -> ResponseEntity.created(URI.create("/baskets/" + basket.getId().toString()))
+                        .body(basket));
+    }
+
+    @PostMapping("/{id}/item")
+    @JsonView(BasketItem.Views.Created.class)
+    public Mono<ResponseEntity<BasketItem>> addBasketItem(@PathVariable("id") Long id,
+                                                          @RequestBody @JsonView(BasketItem.Views.Create.class) BasketItem basketItem) {
+        return basketService.addBasketItem(basketItem.withBasketId(id))
+                .map(item -> ResponseEntity.created(URI.create("/basketItems/" + item.getId().toString()))
+                        .body(item));
+    }
+
+    @PostMapping("/{id}/items")
+    @JsonView(BasketItem.Views.Created.class)
+    public Mono<ResponseEntity<List<BasketItem>>> addBasketItems(@PathVariable("id") Long id,
+                                                                 @RequestBody @JsonView(BasketItem.Views.Create.class) List<BasketItem> basketItems) {
+        return basketService.addBasketItems(id, basketItems)
+                .map(items -> ResponseEntity.created(URI.create("/baskets/" + id)).body(items));
+    }
+
+    @PostMapping("/{id}/clear")
+    public Mono<ResponseEntity<Void>> clearBasket(@PathVariable("id") Long id) {
+        return basketService.clearBasket(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public Mono<ResponseEntity<Void>> cancelBasket(@PathVariable("id") Long id) {
+        return basketService.cancelBasket(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    @GetMapping("/{id}/savings")
+    public Mono<ResponseEntity<Savings>> getBasketSavings(@PathVariable("id") Long id) {
+        return basketService.calculateSavings(id)
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/{id}/checkout")
+    @JsonView({Basket.Views.Read.class})
+    public Mono<ResponseEntity<Basket>> checkoutBasket(@PathVariable("id") Long id) {
+        return basketService.checkout(id)
+                .map(ResponseEntity::ok);
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.qikserve.checkout.controller.reactive;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.qikserve.checkout.model.BasketItem;
+import com.qikserve.checkout.service.reactive.ReactiveBasketItemService;
+import com.qikserve.checkout.service.reactive.ReactiveBasketService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/basketItems")
+@RequiredArgsConstructor
+public class ReactiveBasketItemController {
+
+    private final ReactiveBasketItemService basketItemService;
+    private final ReactiveBasketService basketService;
+
+    @GetMapping("/{id}")
+    @JsonView(BasketItem.Views.Read.class)
+    public Mono<ResponseEntity<BasketItem>> getBasketItem(@PathVariable("id") Long id) {
+        return basketItemService.getBasketItem(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PatchMapping("/{id}")
+    @JsonView(BasketItem.Views.Read.class)
+    public Mono<ResponseEntity<BasketItem>> update(@PathVariable("id") Long id,
+                                                   @RequestBody @JsonView(BasketItem.Views.Update.class) BasketItem item) {
+        return basketItemService.update(id, item)
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteBasketItem(@PathVariable("id") Long id) {
+        return basketItemService.deleteBasketItem(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    @PostMapping
+    @JsonView(BasketItem.Views.Created.class)
+    public Mono<ResponseEntity<BasketItem>> createBasketItem(@RequestBody @JsonView(BasketItem.Views.Create.class) BasketItem item) {
+        return basketService.addBasketItem(item)
+                .map(basketItem -> ResponseEntity.created(URI.create("/basketItems/" + basketItem.getId().toString()))
+                        .body(basketItem));
+    }
+
+}
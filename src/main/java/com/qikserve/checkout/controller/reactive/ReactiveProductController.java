@@ -0,0 +1,39 @@
+package com.qikserve.checkout.controller.reactive;
+
+import com.qikserve.checkout.model.dto.Product;
+import com.qikserve.checkout.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/products")
+@RequiredArgsConstructor
+public class ReactiveProductController {
+
+    private final ProductRepository productRepository;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Product>>> getAllProducts() {
+        return productRepository.findAllReactive()
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Product>> getProductById(@PathVariable("id") String id) {
+        return productRepository.findByIdReactive(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.qikserve.checkout.exception;
+
+import lombok.experimental.SuperBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+@SuperBuilder
+public class BasketConflictException extends BasketException {
+
+    public static BasketConflictException of(Long basketId) {
+        return BasketConflictException.builder()
+                                      .httpStatus(HttpStatus.CONFLICT)
+                                      .messageCode("error.basketConflict")
+                                      .basketId(basketId)
+                                      .build();
+    }
+}
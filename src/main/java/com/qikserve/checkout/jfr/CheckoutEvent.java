@@ -0,0 +1,49 @@
+package com.qikserve.checkout.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.qikserve.checkout.Checkout")
+@Label("Checkout")
+@Category({"Checkout Service", "Basket"})
+@Description("Basket checkout, from loading the basket to saving its total")
+@StackTrace(false)
+public class CheckoutEvent extends Event {
+
+    @Label("Basket Id")
+    long basketId;
+
+    @Label("Line Count")
+    int lineCount;
+
+    @Label("Catalog Version")
+    @Description("Product catalog snapshot version the basket was priced against, -1 when priced live")
+    long catalogVersion = -1;
+
+    @Label("Checked Out")
+    boolean checkedOut;
+
+    public static CheckoutEvent start(long basketId) {
+        var event = new CheckoutEvent();
+        event.basketId = basketId;
+        event.begin();
+        return event;
+    }
+
+    public void checkedOut(int lineCount, Long catalogVersion) {
+        this.lineCount = lineCount;
+        this.catalogVersion = catalogVersion == null ? -1 : catalogVersion;
+        this.checkedOut = true;
+    }
+
+    public void complete() {
+        this.end();
+        if (this.shouldCommit()) {
+            this.commit();
+        }
+    }
+}
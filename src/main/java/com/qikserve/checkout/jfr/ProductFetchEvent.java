@@ -0,0 +1,43 @@
+package com.qikserve.checkout.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.qikserve.checkout.ProductFetch")
+@Label("Product Fetch")
+@Category({"Checkout Service", "Product API"})
+@Description("Call to the product API, from sending the request to receiving the response status")
+@StackTrace(false)
+public class ProductFetchEvent extends Event {
+
+    @Label("Product Id")
+    @Description("Requested product id, comma-separated ids for a batch, or * for the full listing")
+    String productId;
+
+    @Label("Status")
+    @Description("HTTP status code, or -1 when no response was received")
+    int status = -1;
+
+    @Label("Outcome")
+    String outcome;
+
+    public static ProductFetchEvent start(String productId) {
+        var event = new ProductFetchEvent();
+        event.productId = productId;
+        event.begin();
+        return event;
+    }
+
+    public void complete(int status, String outcome) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.status = status;
+            this.outcome = outcome;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.qikserve.checkout.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// evaluations take well under a microsecond, so only outliers are recorded by default
+@Name("com.qikserve.checkout.PromotionEvaluation")
+@Label("Promotion Evaluation")
+@Category({"Checkout Service", "Pricing"})
+@Description("Promotions applied to a single basket line")
+@Threshold("100 us")
+@StackTrace(false)
+public class PromotionEvaluationEvent extends Event {
+
+    @Label("Product Id")
+    String productId;
+
+    @Label("Quantity")
+    int quantity;
+
+    @Label("Promotion Count")
+    int promotionCount;
+
+    @Label("Price In Pence")
+    long priceInPence;
+
+    public static PromotionEvaluationEvent start() {
+        var event = new PromotionEvaluationEvent();
+        event.begin();
+        return event;
+    }
+
+    public void complete(String productId, int quantity, int promotionCount, long priceInPence) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.promotionCount = promotionCount;
+            this.priceInPence = priceInPence;
+            this.commit();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -56,6 +57,20 @@ public class Basket {
     @JsonView({Read.class, Created.class})
     private BigDecimal total;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // maintained by BasketRepository update queries only
+    @Column(name = "running_total", insertable = false, updatable = false)
+    private Long runningTotal;
+
+    @Column(name = "running_promotional_total", insertable = false, updatable = false)
+    private Long runningPromotionalTotal;
+
+    @Column(name = "running_catalog_version", insertable = false, updatable = false)
+    private Long runningCatalogVersion;
+
     @OneToMany(mappedBy = "basket", cascade = CascadeType.REMOVE, orphanRemoval = true)
     @JsonManagedReference()
     @JsonIdentityInfo(generator = ObjectIdGenerators.IntSequenceGenerator.class)
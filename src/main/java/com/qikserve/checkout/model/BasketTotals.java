@@ -0,0 +1,19 @@
+package com.qikserve.checkout.model;
+
+import java.util.Objects;
+
+public record BasketTotals(Long basketId, Long version, Long runningTotal, Long runningPromotionalTotal,
+                           Long runningCatalogVersion) {
+
+    public static BasketTotals of(Basket basket) {
+        return new BasketTotals(basket.getId(), basket.getVersion(), basket.getRunningTotal(),
+                                basket.getRunningPromotionalTotal(), basket.getRunningCatalogVersion());
+    }
+
+    // Totals priced against another catalog version are recomputed rather than trusted. Without a catalog
+    // snapshot there is no version to compare, and prices may have changed since the items were added.
+    public boolean isCurrent(Long catalogVersion) {
+        return runningTotal != null && runningPromotionalTotal != null
+                && catalogVersion != null && Objects.equals(runningCatalogVersion, catalogVersion);
+    }
+}
@@ -0,0 +1,4 @@
+package com.qikserve.checkout.model;
+
+public record IdempotentResponse(String requestHash, int status, String contentType, String location, byte[] body) {
+}
@@ -1,11 +1,15 @@
 package com.qikserve.checkout.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.qikserve.checkout.service.promotion.CompiledPromotions;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.With;
 
 import java.util.List;
@@ -22,4 +26,10 @@ public class Product {
     private int price;
     @Builder.Default
     private List<? extends Promotion> promotions = List.of();
-}
\ No newline at end of file
+    @JsonInclude(Include.NON_DEFAULT)
+    private boolean stale;
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private CompiledPromotions compiledPromotions;
+}
@@ -19,4 +19,5 @@ public class Savings {
     private BigDecimal totalPrice;
     private BigDecimal promotionalPrice;
     private BigDecimal savings;
+    private Long catalogVersion;
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.qikserve.checkout.model.reactive;
+
+import com.qikserve.checkout.model.BasketItem;
+import lombok.With;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("basket_items")
+@With
+public record BasketItemRow(@Id Long id, Long basketId, String productId, Integer quantity) {
+
+    public static BasketItemRow of(BasketItem basketItem) {
+        return new BasketItemRow(null, basketItem.getBasketId(), basketItem.getProductId(), basketItem.getQuantity());
+    }
+
+    public BasketItem toBasketItem() {
+        return BasketItem.builder()
+                         .id(id)
+                         .basketId(basketId)
+                         .productId(productId)
+                         .quantity(quantity)
+                         .build();
+    }
+}
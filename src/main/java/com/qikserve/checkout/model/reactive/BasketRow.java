@@ -0,0 +1,34 @@
+package com.qikserve.checkout.model.reactive;
+
+import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.model.BasketItem;
+import com.qikserve.checkout.model.BasketStatus;
+import lombok.With;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Table("baskets")
+@With
+public record BasketRow(@Id Long id, BasketStatus status, BigDecimal total, Long version) {
+
+    public boolean isOpen() {
+        return BasketStatus.OPEN.equals(status);
+    }
+
+    public Basket toBasket() {
+        return this.toBasket(null);
+    }
+
+    public Basket toBasket(List<BasketItem> basketItems) {
+        return Basket.builder()
+                     .id(id)
+                     .status(status)
+                     .total(total)
+                     .version(version)
+                     .basketItems(basketItems)
+                     .build();
+    }
+}
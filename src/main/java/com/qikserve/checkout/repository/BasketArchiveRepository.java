@@ -0,0 +1,92 @@
+package com.qikserve.checkout.repository;
+
+import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.model.BasketItem;
+import com.qikserve.checkout.model.BasketStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class BasketArchiveRepository {
+
+    // oldest first, through baskets_closed_created_at_idx
+    static final String FIND_ARCHIVABLE_IDS = """
+            select id from baskets
+            where status <> 'OPEN' and created_at < ?
+            order by created_at limit ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> findArchivableIds(Instant createdBefore, int limit) {
+        return jdbcTemplate.queryForList(FIND_ARCHIVABLE_IDS, Long.class, Timestamp.from(createdBefore), limit);
+    }
+
+    public void createPartitions(List<Long> ids) {
+        jdbcTemplate.queryForList("""
+                select create_basket_archive_partitions(min(created_at), max(created_at))
+                from baskets where id = any(?)
+                """, (Object) ids.toArray(Long[]::new));
+    }
+
+    // One statement, so a basket and its items leave the hot tables together; summaries cascade
+    public int archive(List<Long> ids) {
+        return jdbcTemplate.update("""
+                with moved as (
+                    delete from baskets
+                    where id = any(?) and status <> 'OPEN'
+                    returning id, status, total, version, created_at, updated_at
+                ), moved_items as (
+                    delete from basket_items bi using moved m where bi.basket_id = m.id
+                    returning bi.id, bi.basket_id, bi.product_id, bi.quantity, m.created_at as basket_created_at,
+                              bi.created_at, bi.updated_at
+                ), archived_items as (
+                    insert into basket_items_archive
+                        (id, basket_id, product_id, quantity, basket_created_at, created_at, updated_at)
+                    select * from moved_items
+                )
+                insert into baskets_archive (id, status, total, version, created_at, updated_at)
+                select * from moved
+                """, (Object) ids.toArray(Long[]::new));
+    }
+
+    public Optional<Basket> findById(Long id) {
+        return jdbcTemplate.query("""
+                        select id, status, total, version, created_at from baskets_archive where id = ?
+                        """,
+                (rs, rowNum) -> new ArchivedBasket(Basket.builder()
+                                                         .id(rs.getLong("id"))
+                                                         .status(BasketStatus.valueOf(rs.getString("status")))
+                                                         .total(rs.getBigDecimal("total"))
+                                                         .version(rs.getLong("version"))
+                                                         .build(),
+                                                   rs.getTimestamp("created_at")),
+                id).stream()
+                .findFirst()
+                .map(archived -> archived.basket().withBasketItems(this.findItems(id, archived.createdAt())));
+    }
+
+    // the basket's created_at prunes the lookup to a single partition
+    private List<BasketItem> findItems(Long basketId, Timestamp basketCreatedAt) {
+        return jdbcTemplate.query("""
+                        select id, basket_id, product_id, quantity from basket_items_archive
+                        where basket_id = ? and basket_created_at = ? order by id
+                        """,
+                (rs, rowNum) -> BasketItem.builder()
+                        .id(rs.getLong("id"))
+                        .basketId(rs.getLong("basket_id"))
+                        .productId(rs.getString("product_id"))
+                        .quantity(rs.getInt("quantity"))
+                        .build(),
+                basketId, basketCreatedAt);
+    }
+
+    private record ArchivedBasket(Basket basket, Timestamp createdAt) {}
+}
@@ -1,8 +1,36 @@
 package com.qikserve.checkout.repository;
 
 import com.qikserve.checkout.model.BasketItem;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface BasketItemRepository extends JpaRepository<BasketItem, Long> {
-    
+
+    @Transactional
+    @Query(value = """
+            insert into basket_items (basket_id, product_id, quantity)
+            values (:basketId, :productId, :quantity)
+            on conflict (basket_id, product_id) do update set quantity = basket_items.quantity + excluded.quantity
+            returning *
+            """, nativeQuery = true)
+    BasketItem upsert(@Param("basketId") Long basketId,
+                      @Param("productId") String productId,
+                      @Param("quantity") Integer quantity);
+
+    // productIds must be distinct: a row cannot be updated twice by the same statement
+    @Transactional
+    @Query(value = """
+            insert into basket_items (basket_id, product_id, quantity)
+            select :basketId, line.product_id, line.quantity
+            from unnest(cast(:productIds as varchar[]), cast(:quantities as int[])) as line(product_id, quantity)
+            on conflict (basket_id, product_id) do update set quantity = basket_items.quantity + excluded.quantity
+            returning *
+            """, nativeQuery = true)
+    List<BasketItem> upsertAll(@Param("basketId") Long basketId,
+                               @Param("productIds") String[] productIds,
+                               @Param("quantities") Integer[] quantities);
 }
@@ -1,13 +1,16 @@
 package com.qikserve.checkout.repository;
 
 import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.model.BasketTotals;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface BasketRepository extends JpaRepository<Basket, Long> {
@@ -20,4 +23,59 @@ public interface BasketRepository extends JpaRepository<Basket, Long> {
     @Transactional
     @Query("delete from BasketItem bi where bi.basketId = :basketId")
     int clearBasket(@Param("basketId") Long basketId);
+
+    @Query("select new com.qikserve.checkout.model.BasketTotals(b.id, b.version, b.runningTotal, " +
+           "b.runningPromotionalTotal, b.runningCatalogVersion) from Basket b where b.id = :id")
+    Optional<BasketTotals> findTotalsById(@Param("id") Long id);
+
+    @Query("select b.id from Basket b where b.status = com.qikserve.checkout.model.BasketStatus.OPEN " +
+           "and b.runningTotal is not null and b.id > :after order by b.id")
+    List<Long> findOpenIdsWithTotalsAfter(@Param("after") Long after, Limit limit);
+
+    // null deltas mark the running totals as unknown
+    @Modifying
+    @Transactional
+    @Query("update Basket b set b.version = b.version + 1, " +
+           "b.runningTotal = b.runningTotal + :totalDelta, " +
+           "b.runningPromotionalTotal = b.runningPromotionalTotal + :promotionalDelta " +
+           "where b.id = :id")
+    int touch(@Param("id") Long id,
+              @Param("totalDelta") Long totalDelta,
+              @Param("promotionalDelta") Long promotionalDelta);
+
+    @Modifying
+    @Transactional
+    @Query("update Basket b set b.version = b.version + 1, " +
+           "b.runningTotal = b.runningTotal + :totalDelta, " +
+           "b.runningPromotionalTotal = b.runningPromotionalTotal + :promotionalDelta " +
+           "where b.id = :id and b.status = com.qikserve.checkout.model.BasketStatus.OPEN")
+    int touchOpen(@Param("id") Long id,
+                  @Param("totalDelta") Long totalDelta,
+                  @Param("promotionalDelta") Long promotionalDelta);
+
+    @Modifying
+    @Transactional
+    @Query("update Basket b set b.version = b.version + 1, b.runningTotal = 0, b.runningPromotionalTotal = 0 " +
+           "where b.id = :id")
+    int resetTotals(@Param("id") Long id);
+
+    // only written if no mutation happened since the totals were computed
+    @Modifying
+    @Transactional
+    @Query("update Basket b set b.runningTotal = :total, b.runningPromotionalTotal = :promotionalTotal, " +
+           "b.runningCatalogVersion = :catalogVersion where b.id = :id and b.version = :version")
+    int storeTotals(@Param("id") Long id,
+                    @Param("version") Long version,
+                    @Param("total") long total,
+                    @Param("promotionalTotal") long promotionalTotal,
+                    @Param("catalogVersion") Long catalogVersion);
+
+    @Query(value = BasketSummaryQueries.FIND_CURRENT, nativeQuery = true)
+    Optional<String> findSummaryById(@Param("id") Long id);
+
+    // pending item changes are flushed first, so the document renders them
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = BasketSummaryQueries.REFRESH, nativeQuery = true)
+    int refreshSummary(@Param("id") Long id);
 }
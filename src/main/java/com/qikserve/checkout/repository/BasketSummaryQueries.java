@@ -0,0 +1,39 @@
+package com.qikserve.checkout.repository;
+
+// Shared by the JPA and R2DBC repositories so both stacks render the same document
+public class BasketSummaryQueries {
+
+    // the Read view of Basket: nulls omitted, items numbered like @JsonIdentityInfo's IntSequenceGenerator
+    public static final String REFRESH = """
+            insert into basket_summaries (basket_id, version, document)
+            select b.id, b.version,
+                   jsonb_strip_nulls(jsonb_build_object(
+                           'id', b.id,
+                           'status', cast(b.status as text),
+                           'total', b.total,
+                           'basket_items', coalesce(i.items, cast('[]' as jsonb)),
+                           'items_count', i.items_count))
+            from baskets b
+            left join lateral (
+                select jsonb_agg(jsonb_build_object(
+                               '@id', bi.seq,
+                               'id', bi.id,
+                               'basket_id', bi.basket_id,
+                               'product_id', bi.product_id,
+                               'quantity', bi.quantity) order by bi.id) as items,
+                       count(*) as items_count
+                from (select *, row_number() over (order by id) as seq
+                      from basket_items where basket_id = b.id) bi
+            ) i on true
+            where b.id = :id
+            on conflict (basket_id) do update set version = excluded.version, document = excluded.document
+            where basket_summaries.version <= excluded.version
+            """;
+
+    // a summary left behind by a writer that did not refresh it is never served
+    public static final String FIND_CURRENT = """
+            select cast(s.document as text) from basket_summaries s
+            join baskets b on b.id = s.basket_id and b.version = s.version
+            where s.basket_id = :id
+            """;
+}
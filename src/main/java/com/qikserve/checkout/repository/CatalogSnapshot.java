@@ -0,0 +1,70 @@
+package com.qikserve.checkout.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.qikserve.checkout.model.dto.Product;
+import com.qikserve.checkout.service.factory.PromotionStrategyFactory;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public record CatalogSnapshot(long version,
+                              Instant loadedAt,
+                              List<Product> listing,
+                              Map<String, Product> productsById) {
+
+    private static final ObjectMapper CANONICAL_JSON = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .build();
+
+    public CatalogSnapshot {
+        listing = List.copyOf(listing);
+        productsById = Map.copyOf(productsById);
+    }
+
+    public static CatalogSnapshot of(List<Product> listing, List<Product> details) {
+        var productsById = details.stream()
+                .map(PromotionStrategyFactory::compile)
+                .collect(Collectors.toMap(Product::getId, Function.identity(), (a, b) -> b));
+        return new CatalogSnapshot(contentVersion(listing, productsById), Instant.now(), listing, productsById);
+    }
+
+    // A hash of the content rather than a counter, so every instance and every restart that loaded the same
+    // catalog agrees on the version that running totals are stored under
+    static long contentVersion(List<Product> listing, Map<String, Product> productsById) {
+        var details = productsById.values().stream().sorted(Comparator.comparing(Product::getId)).toList();
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(CANONICAL_JSON.writeValueAsBytes(List.of(listing, details)));
+            // non-negative, so it never reads as the -1 that CheckoutEvent uses for live pricing
+            return ByteBuffer.wrap(digest).getLong() & Long.MAX_VALUE;
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash the product catalog", e);
+        }
+    }
+
+    public Optional<Product> findById(String productId) {
+        return Optional.ofNullable(productsById.get(productId));
+    }
+
+    public boolean isStale() {
+        return listing.stream().anyMatch(Product::isStale)
+                || productsById.values().stream().anyMatch(Product::isStale);
+    }
+
+    public boolean hasSameContent(CatalogSnapshot other) {
+        return other != null
+                && listing.equals(other.listing)
+                && productsById.equals(other.productsById);
+    }
+}
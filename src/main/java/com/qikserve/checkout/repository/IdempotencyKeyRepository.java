@@ -0,0 +1,55 @@
+package com.qikserve.checkout.repository;
+
+import com.qikserve.checkout.model.IdempotentResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Inserts the key, or takes over a claim left behind by a request that never completed
+    public boolean claim(String key, String requestHash, Instant now, Instant staleBefore) {
+        return jdbcTemplate.update("""
+                insert into idempotency_keys (idempotency_key, request_hash, created_at) values (?, ?, ?)
+                on conflict (idempotency_key) do update
+                set request_hash = excluded.request_hash, created_at = excluded.created_at
+                where idempotency_keys.status is null and idempotency_keys.created_at < ?
+                """, key, requestHash, Timestamp.from(now), Timestamp.from(staleBefore)) > 0;
+    }
+
+    public Optional<IdempotentResponse> findCompleted(String key) {
+        return jdbcTemplate.query("""
+                        select request_hash, status, content_type, location, body from idempotency_keys
+                        where idempotency_key = ? and status is not null
+                        """,
+                (rs, rowNum) -> new IdempotentResponse(rs.getString("request_hash"),
+                                                       rs.getInt("status"),
+                                                       rs.getString("content_type"),
+                                                       rs.getString("location"),
+                                                       rs.getBytes("body")),
+                key).stream().findFirst();
+    }
+
+    public void complete(String key, IdempotentResponse response) {
+        jdbcTemplate.update("""
+                update idempotency_keys set status = ?, content_type = ?, location = ?, body = ?
+                where idempotency_key = ?
+                """, response.status(), response.contentType(), response.location(), response.body(), key);
+    }
+
+    public void release(String key) {
+        jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ? and status is null", key);
+    }
+
+    public int deleteCreatedBefore(Instant createdBefore) {
+        return jdbcTemplate.update("delete from idempotency_keys where created_at < ?", Timestamp.from(createdBefore));
+    }
+}
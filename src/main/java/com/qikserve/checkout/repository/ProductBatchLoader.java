@@ -0,0 +1,131 @@
+package com.qikserve.checkout.repository;
+
+import com.qikserve.checkout.model.dto.Product;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Relies on a bulk GET /products?ids= that only the WireMock stand-in serves; the real product API has none
+@Slf4j
+public class ProductBatchLoader {
+
+    private final Function<Set<String>, Flux<Product>> bulkFetch;
+    private final int maxBatchSize;
+    private final Duration window;
+    private final Scheduler scheduler;
+    private final DistributionSummary batchSizes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<PendingLookup> pending = new ArrayList<>();
+    private long generation;
+    private Disposable scheduledFlush;
+
+    public ProductBatchLoader(Function<Set<String>, Flux<Product>> bulkFetch,
+                              int maxBatchSize,
+                              Duration window,
+                              MeterRegistry meterRegistry) {
+        this(bulkFetch, maxBatchSize, window, meterRegistry, Schedulers.parallel());
+    }
+
+    ProductBatchLoader(Function<Set<String>, Flux<Product>> bulkFetch,
+                       int maxBatchSize,
+                       Duration window,
+                       MeterRegistry meterRegistry,
+                       Scheduler scheduler) {
+        this.bulkFetch = bulkFetch;
+        this.maxBatchSize = maxBatchSize;
+        this.window = window;
+        this.scheduler = scheduler;
+        this.batchSizes = DistributionSummary.builder("product.batch.size")
+                .description("Distinct product ids resolved per upstream batch call")
+                .register(meterRegistry);
+    }
+
+    public Mono<Product> load(String productId) {
+        return Mono.defer(() -> {
+            var promise = new CompletableFuture<Optional<Product>>();
+            this.enqueue(new PendingLookup(productId, promise));
+            return Mono.fromFuture(promise, true);
+        }).flatMap(Mono::justOrEmpty);
+    }
+
+    private void enqueue(PendingLookup lookup) {
+        List<PendingLookup> ready = null;
+        lock.lock();
+        try {
+            pending.add(lookup);
+            if (pending.size() >= maxBatchSize) {
+                ready = this.drain();
+            } else if (pending.size() == 1) {
+                var scheduledGeneration = generation;
+                scheduledFlush = scheduler.schedule(() -> this.flush(scheduledGeneration),
+                        window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (ready != null) {
+            this.dispatch(ready);
+        }
+    }
+
+    private void flush(long scheduledGeneration) {
+        List<PendingLookup> ready;
+        lock.lock();
+        try {
+            if (scheduledGeneration != generation || pending.isEmpty()) {
+                return;
+            }
+            ready = this.drain();
+        } finally {
+            lock.unlock();
+        }
+        this.dispatch(ready);
+    }
+
+    private List<PendingLookup> drain() {
+        var ready = pending;
+        pending = new ArrayList<>();
+        generation++;
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        return ready;
+    }
+
+    private void dispatch(List<PendingLookup> batch) {
+        var productIds = batch.stream()
+                .map(PendingLookup::productId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        batchSizes.record(productIds.size());
+        log.debug("Resolving {} product lookups with a single batch of {} ids", batch.size(), productIds.size());
+        bulkFetch.apply(productIds)
+                .filter(product -> productIds.contains(product.getId()))
+                .collectMap(Product::getId)
+                .subscribe(
+                        productsById -> batch.forEach(lookup ->
+                                lookup.promise().complete(Optional.ofNullable(productsById.get(lookup.productId())))),
+                        error -> batch.forEach(lookup -> lookup.promise().completeExceptionally(error)));
+    }
+
+    private record PendingLookup(String productId, CompletableFuture<Optional<Product>> promise) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.qikserve.checkout.repository;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.qikserve.checkout.model.dto.Product;
+import com.qikserve.checkout.service.factory.PromotionStrategyFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+@Component
+public class ProductCache {
+
+    private static final String CACHE_NAME = "products";
+
+    private final AsyncLoadingCache<String, Optional<Product>> cache;
+
+    @Autowired
+    public ProductCache(ProductClient productClient,
+                        MeterRegistry meterRegistry,
+                        @Value("${product.cache.maximum-size:1000}") long maximumSize,
+                        @Value("${product.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                        @Value("${product.cache.refresh-after-write:1m}") Duration refreshAfterWrite,
+                        @Value("${product.cache.negative-ttl:30s}") Duration negativeTtl) {
+        this(productClient, meterRegistry, maximumSize, expireAfterWrite, refreshAfterWrite, negativeTtl,
+                Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    // tests drive expiry and refresh with a fake ticker and a direct executor
+    ProductCache(ProductClient productClient, MeterRegistry meterRegistry, long maximumSize,
+                 Duration expireAfterWrite, Duration refreshAfterWrite, Duration negativeTtl,
+                 Ticker ticker, Executor executor) {
+        this.cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .executor(executor)
+                .maximumSize(maximumSize)
+                .expireAfter(new ProductExpiry(expireAfterWrite, negativeTtl))
+                .refreshAfterWrite(refreshAfterWrite)
+                .recordStats()
+                .buildAsync((productId, executor) -> productClient.fetchById(productId)
+                        .map(PromotionStrategyFactory::compile)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .toFuture());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    public Mono<Product> get(String productId) {
+        // the future is shared with every concurrent reader, so a cancelled subscriber must not cancel it
+        return Mono.fromFuture(() -> cache.get(productId), true)
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    public void invalidate(String productId) {
+        cache.synchronous().invalidate(productId);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    private record ProductExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, Optional<Product>> {
+
+        @Override
+        public long expireAfterCreate(String productId, Optional<Product> product, long currentTime) {
+            // stale fallbacks and unknown ids are retried sooner than fresh products
+            return (product.filter(p -> !p.isStale()).isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String productId, Optional<Product> product, long currentTime, long currentDuration) {
+            return this.expireAfterCreate(productId, product, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String productId, Optional<Product> product, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
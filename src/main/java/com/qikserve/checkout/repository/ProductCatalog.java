@@ -0,0 +1,77 @@
+package com.qikserve.checkout.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Component
+public class ProductCatalog implements SmartInitializingSingleton {
+
+    private final ProductClient productClient;
+    private final boolean enabled;
+    private final Duration loadTimeout;
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+
+    public ProductCatalog(ProductClient productClient,
+                          @Value("${product.catalog.snapshot.enabled:false}") boolean enabled,
+                          @Value("${product.catalog.snapshot.load-timeout:30s}") Duration loadTimeout) {
+        this.productClient = productClient;
+        this.enabled = enabled;
+        this.loadTimeout = loadTimeout;
+    }
+
+    public Optional<CatalogSnapshot> current() {
+        return Optional.ofNullable(snapshot.get());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            this.refreshQuietly();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.catalog.snapshot.refresh-interval:5m}",
+            initialDelayString = "${product.catalog.snapshot.refresh-interval:5m}")
+    public void scheduledRefresh() {
+        if (enabled) {
+            this.refreshQuietly();
+        }
+    }
+
+    public CatalogSnapshot refresh() {
+        var loaded = productClient.fetchAll()
+                .collectList()
+                .flatMap(listing -> Flux.fromIterable(listing)
+                        .flatMap(product -> productClient.fetchById(product.getId()))
+                        .collectList()
+                        .map(details -> CatalogSnapshot.of(listing, details)))
+                .block(loadTimeout);
+        return snapshot.updateAndGet(previous -> {
+            // a catalog rebuilt from last-known-good fallbacks is never newer than the one we already serve
+            if (loaded.hasSameContent(previous) || (previous != null && loaded.isStale())) {
+                return previous;
+            }
+            return loaded;
+        });
+    }
+
+    private void refreshQuietly() {
+        try {
+            var current = this.refresh();
+            log.info("Product catalog snapshot v{} holds {} products", current.version(), current.productsById().size());
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh product catalog snapshot, keeping {}", this.current()
+                    .map(s -> "v" + s.version())
+                    .orElse("live lookups"), e);
+        }
+    }
+}
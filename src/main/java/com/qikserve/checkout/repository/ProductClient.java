@@ -0,0 +1,130 @@
+package com.qikserve.checkout.repository;
+
+import com.qikserve.checkout.model.dto.Product;
+import com.qikserve.checkout.util.SingleFlight;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.OK;
+
+@Slf4j
+@Component
+public class ProductClient {
+
+    private static final String CONTEXT_PATH = "/products";
+
+    private final WebClient productsClient;
+    private final CircuitBreaker circuitBreaker;
+    private final SingleFlight<String, Product> productFlights;
+    private final SingleFlight<String, List<Product>> catalogFlights;
+    private final ProductBatchLoader batchLoader;
+    private final Counter staleReads;
+
+    private final ConcurrentMap<String, Product> lastKnownGood = new ConcurrentHashMap<>();
+    private final AtomicReference<List<Product>> lastKnownCatalog = new AtomicReference<>();
+
+    public ProductClient(WebClient productsClient,
+                         CircuitBreaker productsCircuitBreaker,
+                         MeterRegistry meterRegistry,
+                         @Value("${product.batch.enabled:true}") boolean batchEnabled,
+                         @Value("${product.batch.max-size:50}") int batchMaxSize,
+                         @Value("${product.batch.window:5ms}") Duration batchWindow) {
+        this.productsClient = productsClient;
+        this.circuitBreaker = productsCircuitBreaker;
+        this.productFlights = new SingleFlight<>("products", meterRegistry);
+        this.catalogFlights = new SingleFlight<>("catalog", meterRegistry);
+        this.batchLoader = batchEnabled
+                ? new ProductBatchLoader(this::requestByIds, batchMaxSize, batchWindow, meterRegistry)
+                : null;
+        this.staleReads = Counter.builder("product.client.stale.reads")
+                .description("Product reads answered from last-known-good data after an upstream failure")
+                .register(meterRegistry);
+    }
+
+    public Mono<Product> fetchById(String productId) {
+        return productFlights.execute(productId, id -> batchLoader != null
+                        ? batchLoader.load(id)
+                        : this.requestById(id))
+                .doOnNext(product -> lastKnownGood.put(product.getId(), product))
+                .onErrorResume(error -> this.lastKnownGood(productId, error));
+    }
+
+    public Flux<Product> fetchAll() {
+        return catalogFlights.execute(CONTEXT_PATH, path -> this.requestAll().collectList())
+                .doOnNext(lastKnownCatalog::set)
+                .onErrorResume(this::lastKnownCatalog)
+                .flatMapIterable(products -> products);
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private Mono<Product> lastKnownGood(String productId, Throwable error) {
+        var product = lastKnownGood.get(productId);
+        if (product == null) {
+            return Mono.error(error);
+        }
+        log.warn("Serving stale product {} after upstream failure: {}", productId, error.toString());
+        staleReads.increment();
+        return Mono.just(product.withStale(true));
+    }
+
+    private Mono<List<Product>> lastKnownCatalog(Throwable error) {
+        var catalog = lastKnownCatalog.get();
+        if (catalog == null) {
+            return Mono.error(error);
+        }
+        log.warn("Serving stale product catalog after upstream failure: {}", error.toString());
+        staleReads.increment();
+        return Mono.just(catalog.stream().map(product -> product.withStale(true)).toList());
+    }
+
+    private Mono<Product> requestById(String productId) {
+        return productsClient.get()
+                .uri(CONTEXT_PATH + "/{id}", productId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchangeToMono(response -> switch (response.statusCode()) {
+                    case OK -> response.bodyToMono(Product.class);
+                    case NOT_FOUND -> Mono.empty();
+                    default -> response.createError();
+                })
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    private Flux<Product> requestByIds(Set<String> productIds) {
+        return productsClient.get()
+                .uri(uriBuilder -> uriBuilder.path(CONTEXT_PATH)
+                        .queryParam("ids", String.join(",", productIds))
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(Product.class)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    private Flux<Product> requestAll() {
+        return productsClient.get()
+                .uri(CONTEXT_PATH)
+                .retrieve()
+                .bodyToFlux(Product.class)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+}
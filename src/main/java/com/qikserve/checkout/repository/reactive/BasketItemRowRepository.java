@@ -0,0 +1,43 @@
+package com.qikserve.checkout.repository.reactive;
+
+import com.qikserve.checkout.model.reactive.BasketItemRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface BasketItemRowRepository extends R2dbcRepository<BasketItemRow, Long> {
+
+    Flux<BasketItemRow> findAllByBasketId(Long basketId);
+
+    @Query("select id, basket_id, product_id, quantity from basket_items_archive where basket_id = :basketId order by id")
+    Flux<BasketItemRow> findArchivedByBasketId(@Param("basketId") Long basketId);
+
+    @Modifying
+    @Query("delete from basket_items where basket_id = :basketId")
+    Mono<Integer> clearBasket(@Param("basketId") Long basketId);
+
+    @Query("""
+            insert into basket_items (basket_id, product_id, quantity)
+            values (:basketId, :productId, :quantity)
+            on conflict (basket_id, product_id) do update set quantity = basket_items.quantity + excluded.quantity
+            returning *
+            """)
+    Mono<BasketItemRow> upsert(@Param("basketId") Long basketId,
+                               @Param("productId") String productId,
+                               @Param("quantity") Integer quantity);
+
+    // productIds must be distinct: a row cannot be updated twice by the same statement
+    @Query("""
+            insert into basket_items (basket_id, product_id, quantity)
+            select :basketId, line.product_id, line.quantity
+            from unnest(cast(:productIds as varchar[]), cast(:quantities as int[])) as line(product_id, quantity)
+            on conflict (basket_id, product_id) do update set quantity = basket_items.quantity + excluded.quantity
+            returning *
+            """)
+    Flux<BasketItemRow> upsertAll(@Param("basketId") Long basketId,
+                                  @Param("productIds") String[] productIds,
+                                  @Param("quantities") Integer[] quantities);
+}
@@ -0,0 +1,55 @@
+package com.qikserve.checkout.repository.reactive;
+
+import com.qikserve.checkout.model.reactive.BasketRow;
+import com.qikserve.checkout.repository.BasketSummaryQueries;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+public interface BasketRowRepository extends R2dbcRepository<BasketRow, Long> {
+
+    @Query("select id, status::text as status, total, version from baskets where id = :id")
+    Mono<BasketRow> findBasketById(@Param("id") Long id);
+
+    @Query("insert into baskets (status) values (cast(:status as basket_status)) " +
+           "returning id, status::text as status, total, version")
+    Mono<BasketRow> create(@Param("status") String status);
+
+    @Query("select id, status::text as status, total, version from baskets_archive where id = :id")
+    Mono<BasketRow> findArchivedById(@Param("id") Long id);
+
+    @Query("select version from baskets where id = :id")
+    Mono<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update baskets set status = cast(:status as basket_status), version = version + 1 " +
+           "where id = :id and version = :version")
+    Mono<Integer> updateStatus(@Param("id") Long id, @Param("version") Long version, @Param("status") String status);
+
+    @Modifying
+    @Query("update baskets set status = 'CHECKED_OUT', total = :total, version = version + 1 " +
+           "where id = :id and version = :version")
+    Mono<Integer> checkout(@Param("id") Long id, @Param("version") Long version, @Param("total") BigDecimal total);
+
+    // the reactive stack does not maintain running totals, so a change leaves them to be recomputed by the next read
+    @Modifying
+    @Query("update baskets set version = version + 1, running_total = null, running_promotional_total = null " +
+           "where id = :id")
+    Mono<Integer> touch(@Param("id") Long id);
+
+    @Modifying
+    @Query("update baskets set version = version + 1, running_total = null, running_promotional_total = null " +
+           "where id = :id and status = 'OPEN'")
+    Mono<Integer> touchOpen(@Param("id") Long id);
+
+    @Query(BasketSummaryQueries.FIND_CURRENT)
+    Mono<String> findSummaryById(@Param("id") Long id);
+
+    @Modifying
+    @Query(BasketSummaryQueries.REFRESH)
+    Mono<Integer> refreshSummary(@Param("id") Long id);
+}
@@ -0,0 +1,71 @@
+package com.qikserve.checkout.service;
+
+import com.qikserve.checkout.repository.BasketArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Slf4j
+@Component
+public class BasketArchiver {
+
+    private final BasketArchiveRepository basketArchiveRepository;
+    private final Counter archived;
+    private final boolean enabled;
+    private final Duration minAge;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public BasketArchiver(BasketArchiveRepository basketArchiveRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${basket.archive.enabled:true}") boolean enabled,
+                          @Value("${basket.archive.min-age:30d}") Duration minAge,
+                          @Value("${basket.archive.batch-size:500}") int batchSize,
+                          @Value("${basket.archive.max-batches:20}") int maxBatches) {
+        this.basketArchiveRepository = basketArchiveRepository;
+        this.archived = meterRegistry.counter("basket.archived");
+        this.enabled = enabled;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${basket.archive.interval:1h}",
+            initialDelayString = "${basket.archive.interval:1h}")
+    public void scheduledArchive() {
+        if (enabled) {
+            try {
+                var moved = this.archive();
+                log.debug("Archived {} closed baskets older than {}", moved, minAge);
+            } catch (RuntimeException e) {
+                log.warn("Basket archival failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    // Moves closed baskets older than the minimum age, one short transaction per batch, and returns how many moved
+    public int archive() {
+        var createdBefore = Instant.now().minus(minAge);
+        var moved = 0;
+        for (var batch = 0; batch < maxBatches; batch++) {
+            var ids = basketArchiveRepository.findArchivableIds(createdBefore, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            basketArchiveRepository.createPartitions(ids);
+            var count = basketArchiveRepository.archive(ids);
+            archived.increment(count);
+            moved += count;
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return moved;
+    }
+}
@@ -5,21 +5,26 @@ import com.qikserve.checkout.exception.BasketItemNotFoundException;
 import com.qikserve.checkout.model.BasketItem;
 import com.qikserve.checkout.model.dto.Product;
 import com.qikserve.checkout.repository.BasketItemRepository;
+import com.qikserve.checkout.repository.BasketRepository;
 import com.qikserve.checkout.repository.ProductRepository;
-import com.qikserve.checkout.service.factory.PromotionStrategyFactory;
-import com.qikserve.checkout.util.PenceUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class BasketItemService {
@@ -27,24 +32,27 @@ public class BasketItemService {
 
     private final BasketItemRepository basketItemRepository;
 
-    @Cacheable("promotionalPrice")
-    public BigDecimal computePromotionalPrice(Collection<BasketItem> items) {
-        final var productsById = this.getProductsById(items);
-        return items.stream()
-            .map(item -> PromotionStrategyFactory
-                    .applyPromotions(productsById.get(item.getProductId()), item.getQuantity()))
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private final BasketRepository basketRepository;
+
+    private final BasketPricingCache basketPricingCache;
+
+    @Timed(value = "basket.pricing", histogram = true)
+    public BasketPricing price(Collection<BasketItem> items) {
+        final var catalogVersion = this.getCatalogVersion().orElse(null);
+        if (items == null || items.isEmpty()) {
+            return new BasketPricing(0L, 0L, catalogVersion);
+        }
+        return BasketPricing.of(items, this.getProductsById(items), catalogVersion);
     }
 
-    @Cacheable("totalPrice")
-    public BigDecimal computeTotalPrice(Collection<BasketItem> items) {
-        final var productsById = this.getProductsById(items);
-        return items.stream()
-            .map(item -> PenceUtils.computeTotal(item.getQuantity(), productsById.get(item.getProductId()).getPrice()))
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public long computePromotionalPrice(Collection<BasketItem> items) {
+        return this.price(items).promotionalPrice();
+    }
+
+    public long computeTotalPrice(Collection<BasketItem> items) {
+        return this.price(items).totalPrice();
     }
 
-    @Cacheable("products")
     public Map<String, Product> getProductsById(Collection<BasketItem> items) {
         return productRepository.findAllById(items.stream()
                 .map(BasketItem::getProductId)
@@ -52,20 +60,74 @@ public class BasketItemService {
                 .collect(Collectors.toMap(Product::getId, p -> p));
     }
 
+    public static Map<String, Integer> quantitiesByProduct(Collection<BasketItem> items) {
+        return items.stream()
+                .collect(Collectors.toMap(BasketItem::getProductId, BasketItem::getQuantity, Integer::sum, LinkedHashMap::new));
+    }
+
+    public Optional<Long> getCatalogVersion() {
+        return productRepository.catalogVersion();
+    }
+
     public Optional<BasketItem> getBasketItem(Long id) {
         return basketItemRepository.findById(id);
     }
 
+    @Transactional
     public BasketItem update(Long id, BasketItem item) {
-        return this.updateById(id, i -> {
+        var previousQuantity = new AtomicReference<Integer>();
+        var updated = this.updateById(id, i -> {
             this.validateQuantity(i.withQuantity(item.getQuantity()));
+            previousQuantity.set(i.getQuantity());
             i.setQuantity(item.getQuantity());
         });
+        this.basketChanged(updated.getBasketId(),
+                           this.priceChange(List.of(updated.withQuantity(previousQuantity.get())), List.of(updated)));
+        return updated;
     }
 
+    @Transactional
     public void deleteBasketItem(Long id) {
-        this.getById(id);
+        var item = this.getById(id);
         basketItemRepository.deleteById(id);
+        this.basketChanged(item.getBasketId(), this.priceChange(List.of(item), List.of()));
+    }
+
+    // Effect on the basket totals of replacing the before lines with the after lines; empty if they cannot be priced
+    public Optional<BasketPricing> priceChange(Collection<BasketItem> before, Collection<BasketItem> after) {
+        // without a snapshot version the totals are never trusted, so the write skips the product lookups
+        var catalogVersion = this.getCatalogVersion().orElse(null);
+        if (catalogVersion == null) {
+            return Optional.empty();
+        }
+        try {
+            var lines = Stream.concat(before.stream(), after.stream()).filter(BasketItemService::hasQuantity).toList();
+            if (lines.isEmpty()) {
+                return Optional.of(new BasketPricing(0L, 0L, catalogVersion));
+            }
+            var productsById = this.getProductsById(lines);
+            if (!lines.stream().allMatch(line -> productsById.containsKey(line.getProductId()))) {
+                return Optional.empty();
+            }
+            return Optional.of(BasketPricing.of(after.stream().filter(BasketItemService::hasQuantity).toList(), productsById, catalogVersion)
+                    .minus(BasketPricing.of(before.stream().filter(BasketItemService::hasQuantity).toList(), productsById, catalogVersion)));
+        } catch (RuntimeException e) {
+            // an unpriced change only costs a recomputation on the next read, it must not fail the write
+            log.warn("Could not price basket change, running totals will be recomputed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void basketChanged(Long basketId, Optional<BasketPricing> change) {
+        basketRepository.touch(basketId,
+                               change.map(BasketPricing::totalPrice).orElse(null),
+                               change.map(BasketPricing::promotionalPrice).orElse(null));
+        basketRepository.refreshSummary(basketId);
+        basketPricingCache.invalidate(basketId);
+    }
+
+    private static boolean hasQuantity(BasketItem item) {
+        return item.getQuantity() != null && item.getQuantity() > 0;
     }
 
     private BasketItem getById(Long id) {
@@ -0,0 +1,43 @@
+package com.qikserve.checkout.service;
+
+import com.qikserve.checkout.model.BasketItem;
+import com.qikserve.checkout.model.dto.Product;
+import com.qikserve.checkout.model.dto.Savings;
+import com.qikserve.checkout.service.factory.PromotionStrategyFactory;
+import com.qikserve.checkout.util.PenceUtils;
+
+import java.util.Collection;
+import java.util.Map;
+
+public record BasketPricing(long totalPrice, long promotionalPrice, Long catalogVersion) {
+
+    public static BasketPricing of(Collection<BasketItem> items, Map<String, Product> productsById, Long catalogVersion) {
+        var totalPrice = 0L;
+        var promotionalPrice = 0L;
+        for (BasketItem item : items) {
+            var product = productsById.get(item.getProductId());
+            totalPrice = PenceUtils.add(totalPrice, PenceUtils.computeTotal(item.getQuantity(), product.getPrice()));
+            promotionalPrice = PenceUtils.add(promotionalPrice, PromotionStrategyFactory.applyPromotions(product, item.getQuantity()));
+        }
+        return new BasketPricing(totalPrice, promotionalPrice, catalogVersion);
+    }
+
+    public BasketPricing minus(BasketPricing other) {
+        return new BasketPricing(Math.subtractExact(totalPrice, other.totalPrice),
+                                 Math.subtractExact(promotionalPrice, other.promotionalPrice),
+                                 catalogVersion);
+    }
+
+    public long savings() {
+        return Math.subtractExact(totalPrice, promotionalPrice);
+    }
+
+    public Savings toSavings() {
+        return Savings.builder()
+                      .totalPrice(PenceUtils.toPounds(totalPrice))
+                      .promotionalPrice(PenceUtils.toPounds(promotionalPrice))
+                      .savings(PenceUtils.toPounds(this.savings()))
+                      .catalogVersion(catalogVersion)
+                      .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.qikserve.checkout.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+public class BasketPricingCache {
+
+    private static final String CACHE_NAME = "basketPricing";
+
+    // one entry per basket: a newer version replaces the old entry instead of sitting next to it
+    private final Cache<Long, Entry> cache;
+
+    public BasketPricingCache(MeterRegistry meterRegistry,
+                              @Value("${basket.pricing-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${basket.pricing-cache.expire-after-write:1m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public BasketPricing get(Key key, Function<Key, BasketPricing> pricing) {
+        return this.getIfPresent(key).orElseGet(() -> {
+            var computed = pricing.apply(key);
+            this.put(key, computed);
+            return computed;
+        });
+    }
+
+    public Optional<BasketPricing> getIfPresent(Key key) {
+        return Optional.ofNullable(cache.getIfPresent(key.basketId()))
+                .filter(entry -> entry.key().equals(key))
+                .map(Entry::pricing);
+    }
+
+    public void put(Key key, BasketPricing pricing) {
+        cache.asMap().merge(key.basketId(), new Entry(key, pricing),
+                (current, candidate) -> current.key().basketVersion() > key.basketVersion() ? current : candidate);
+    }
+
+    public void invalidate(Long basketId) {
+        cache.invalidate(basketId);
+    }
+
+    public record Key(Long basketId, long basketVersion, Long catalogVersion) {
+        public Key {
+            Objects.requireNonNull(basketId);
+        }
+    }
+
+    private record Entry(Key key, BasketPricing pricing) {
+    }
+}
@@ -1,23 +1,33 @@
 package com.qikserve.checkout.service;
 
+import com.qikserve.checkout.exception.BasketConflictException;
 import com.qikserve.checkout.exception.BasketInvalidQuantityException;
 import com.qikserve.checkout.exception.BasketNotFoundException;
 import com.qikserve.checkout.exception.BasketNotOpenException;
+import com.qikserve.checkout.jfr.CheckoutEvent;
 import com.qikserve.checkout.model.Basket;
 import com.qikserve.checkout.model.BasketItem;
 import com.qikserve.checkout.model.BasketStatus;
+import com.qikserve.checkout.model.BasketTotals;
 import com.qikserve.checkout.model.dto.Savings;
+import com.qikserve.checkout.repository.BasketArchiveRepository;
 import com.qikserve.checkout.repository.BasketItemRepository;
 import com.qikserve.checkout.repository.BasketRepository;
 import com.qikserve.checkout.util.PenceUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.hamcrest.Matchers;
 import org.springframework.context.MessageSource;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Recover;
 import org.springframework.stereotype.Service;
 import org.springframework.util.comparator.Comparators;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -25,62 +35,146 @@ public class BasketService {
     private final BasketRepository basketRepository;
     private final BasketItemService basketItemService;
     private final BasketItemRepository basketItemRepository;
+    private final BasketPricingCache basketPricingCache;
+    private final BasketArchiveRepository basketArchiveRepository;
 
+    // closed baskets moved out by BasketArchiver stay readable
     public Optional<Basket> getBasket(Long id) {
-        return basketRepository.findById(id);
+        return basketRepository.findById(id)
+                .or(() -> basketArchiveRepository.findById(id));
+    }
+
+    // Read view JSON kept by the writes; rebuilt here if a writer left it behind
+    public Optional<String> getBasketSummary(Long id) {
+        return basketRepository.findSummaryById(id)
+                .or(() -> basketRepository.refreshSummary(id) > 0
+                        ? basketRepository.findSummaryById(id)
+                        : Optional.empty());
     }
 
     public Basket createBasket() {
         var basket = Basket.builder()
                            .status(BasketStatus.OPEN)
                            .build();
-        return basketRepository.save(basket);
+        var created = basketRepository.save(basket);
+        basketRepository.refreshSummary(created.getId());
+        return created;
     }
 
+    @Transactional
+    @Timed(value = "basket.items.add", histogram = true)
     public BasketItem addBasketItem(BasketItem basketItem) {
         var id = basketItem.getBasketId();
         basketItemService.validateQuantity(basketItem);
         this.validateOpenBasket(this.getBasketById(id, false));
-        return basketItemRepository.save(BasketItem.builder()
-                                                   .basketId(id)
-                                                   .productId(basketItem.getProductId())
-                                                   .quantity(basketItem.getQuantity())
-                                                   .build());
+        var saved = basketItemRepository.upsert(id, basketItem.getProductId(), basketItem.getQuantity());
+        var previous = saved.withQuantity(saved.getQuantity() - basketItem.getQuantity());
+        this.openBasketChanged(id, basketItemService.priceChange(List.of(previous), List.of(saved)));
+        return saved;
+    }
 
+    @Transactional
+    @Timed(value = "basket.items.add-all", histogram = true)
+    public List<BasketItem> addBasketItems(Long id, List<BasketItem> basketItems) {
+        basketItems.forEach(basketItemService::validateQuantity);
+        this.validateOpenBasket(this.getBasketById(id, false));
+        if (basketItems.isEmpty()) {
+            return List.of();
+        }
+        var quantities = BasketItemService.quantitiesByProduct(basketItems);
+        var saved = basketItemRepository.upsertAll(id,
+                                                   quantities.keySet().toArray(String[]::new),
+                                                   quantities.values().toArray(Integer[]::new));
+        var previous = saved.stream()
+                .map(item -> item.withQuantity(item.getQuantity() - quantities.get(item.getProductId())))
+                .toList();
+        this.openBasketChanged(id, basketItemService.priceChange(previous, saved));
+        return saved;
     }
 
+    @RetryOnOptimisticLock(recover = "cancelConflict")
     public void cancelBasket(Long id) {
         var basket = this.getBasketById(id, false);
         BasketNotOpenException.of(id).throwIf(!BasketStatus.OPEN.equals(basket.getStatus()));
         basket.setStatus(BasketStatus.CANCELLED);
         basketRepository.save(basket);
+        basketRepository.refreshSummary(id);
+        basketPricingCache.invalidate(id);
     }
 
+    @Transactional
     public void clearBasket(Long id) {
         basketRepository.clearBasket(id);
+        basketRepository.resetTotals(id);
+        basketRepository.refreshSummary(id);
+        basketPricingCache.invalidate(id);
     }
 
+    @Timed(value = "basket.savings", histogram = true)
     public Savings calculateSavings(Long id) {
-        var basketItems = this.getBasketById(id, true).getBasketItems();
-        var totalPrice = PenceUtils.toPounds(basketItemService.computeTotalPrice(basketItems));
-        var promotionalPrice = PenceUtils.toPounds(basketItemService.computePromotionalPrice(basketItems));
-        var savings = totalPrice.subtract(promotionalPrice);
-
-        return Savings.builder()
-                      .totalPrice(totalPrice)
-                      .promotionalPrice(promotionalPrice)
-                      .savings(savings)
-                      .build();
+        var totals = basketRepository.findTotalsById(id).orElseThrow(() -> BasketNotFoundException.of(id));
+        return this.price(totals, () -> this.getBasketById(id, true).getBasketItems()).toSavings();
     }
 
+    @RetryOnOptimisticLock(recover = "checkoutConflict")
+    @Timed(value = "basket.checkout", histogram = true)
     public Basket checkout(Long id) {
-        var basket = this.getBasketById(id,true);
-        this.validateOpenBasket(basket);
-        basket.setTotal(PenceUtils.toPounds(basketItemService.computeTotalPrice(basket.getBasketItems())));
-        basket.setStatus(BasketStatus.CHECKED_OUT);
-        return basketRepository.save(basket);
+        var event = CheckoutEvent.start(id);
+        try {
+            var basket = this.getBasketById(id,true);
+            this.validateOpenBasket(basket);
+            // the charged total never comes from running totals or cached pricing, only from current prices
+            var pricing = basketItemService.price(basket.getBasketItems());
+            basket.setTotal(PenceUtils.toPounds(pricing.totalPrice()));
+            basket.setStatus(BasketStatus.CHECKED_OUT);
+            var checkedOut = basketRepository.save(basket);
+            basketRepository.refreshSummary(id);
+            basketPricingCache.invalidate(id);
+            event.checkedOut(checkedOut.getItemsCount(), pricing.catalogVersion());
+            return checkedOut;
+        } finally {
+            event.complete();
+        }
+    }
+
+    @Recover
+    public void cancelConflict(ObjectOptimisticLockingFailureException e, Long id) {
+        throw BasketConflictException.of(id);
     }
 
+    @Recover
+    public Basket checkoutConflict(ObjectOptimisticLockingFailureException e, Long id) {
+        throw BasketConflictException.of(id);
+    }
+
+    // O(1) from the running totals when they are current, otherwise priced from the items and written back
+    private BasketPricing price(BasketTotals totals, Supplier<List<BasketItem>> items) {
+        var catalogVersion = basketItemService.getCatalogVersion().orElse(null);
+        if (totals.isCurrent(catalogVersion)) {
+            return new BasketPricing(totals.runningTotal(), totals.runningPromotionalTotal(), catalogVersion);
+        }
+        if (totals.version() == null) {
+            return basketItemService.price(items.get());
+        }
+        var key = new BasketPricingCache.Key(totals.basketId(), totals.version(), catalogVersion);
+        var pricing = basketPricingCache.get(key, k -> basketItemService.price(items.get()));
+        // without a catalog version the totals could never be trusted, so they are not worth writing
+        if (pricing.catalogVersion() != null) {
+            basketRepository.storeTotals(totals.basketId(), totals.version(),
+                                         pricing.totalPrice(), pricing.promotionalPrice(), pricing.catalogVersion());
+        }
+        return pricing;
+    }
+
+    // Fails if checkout or cancel committed after the basket was read, rolling back the item change
+    private void openBasketChanged(Long id, Optional<BasketPricing> change) {
+        var touched = basketRepository.touchOpen(id,
+                                                 change.map(BasketPricing::totalPrice).orElse(null),
+                                                 change.map(BasketPricing::promotionalPrice).orElse(null));
+        BasketNotOpenException.of(id).throwIf(touched == 0);
+        basketRepository.refreshSummary(id);
+        basketPricingCache.invalidate(id);
+    }
 
     private Basket getBasketById(Long id, boolean fetchItems) {
         var basket = fetchItems ? basketRepository.fetchCheckoutItemsById(id) : basketRepository.findById(id);
@@ -0,0 +1,96 @@
+package com.qikserve.checkout.service;
+
+import com.qikserve.checkout.model.BasketTotals;
+import com.qikserve.checkout.repository.BasketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class BasketTotalsVerifier {
+
+    private final BasketRepository basketRepository;
+    private final BasketItemService basketItemService;
+    private final Counter verified;
+    private final Counter drifted;
+    private final boolean enabled;
+    private final boolean repair;
+    private final int batchSize;
+    // last basket id checked; each run continues from there and wraps around at the end
+    private final AtomicLong cursor = new AtomicLong();
+
+    public BasketTotalsVerifier(BasketRepository basketRepository,
+                                BasketItemService basketItemService,
+                                MeterRegistry meterRegistry,
+                                @Value("${basket.totals.verification.enabled:true}") boolean enabled,
+                                @Value("${basket.totals.verification.repair:false}") boolean repair,
+                                @Value("${basket.totals.verification.batch-size:500}") int batchSize) {
+        this.basketRepository = basketRepository;
+        this.basketItemService = basketItemService;
+        this.verified = meterRegistry.counter("basket.totals.verified");
+        this.drifted = meterRegistry.counter("basket.totals.drift");
+        this.enabled = enabled;
+        this.repair = repair;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${basket.totals.verification.interval:10m}",
+            initialDelayString = "${basket.totals.verification.interval:10m}")
+    public void scheduledVerify() {
+        if (enabled) {
+            try {
+                this.verify();
+            } catch (RuntimeException e) {
+                log.warn("Basket totals verification failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    // Recomputes the running totals of the next batch of open baskets and returns how many had drifted
+    public int verify() {
+        // without a catalog snapshot no totals are maintained, so there is nothing to check them against
+        if (basketItemService.getCatalogVersion().isEmpty()) {
+            return 0;
+        }
+        var ids = basketRepository.findOpenIdsWithTotalsAfter(cursor.get(), Limit.of(batchSize));
+        cursor.set(ids.size() < batchSize ? 0L : ids.getLast());
+        var drift = 0;
+        for (var id : ids) {
+            // totals and items come from one statement, so they describe the same basket version
+            var basket = basketRepository.fetchCheckoutItemsById(id);
+            if (basket.isPresent()
+                    && this.hasDrifted(BasketTotals.of(basket.get()), basketItemService.price(basket.get().getBasketItems()))) {
+                drift++;
+            }
+        }
+        return drift;
+    }
+
+    private boolean hasDrifted(BasketTotals totals, BasketPricing recomputed) {
+        // totals of another catalog version are never served, the next read reprices them anyway
+        if (!totals.isCurrent(recomputed.catalogVersion())) {
+            return false;
+        }
+        verified.increment();
+        if (totals.runningTotal() == recomputed.totalPrice()
+                && totals.runningPromotionalTotal() == recomputed.promotionalPrice()) {
+            return false;
+        }
+        drifted.increment();
+        log.warn("Running totals of basket {} drifted: stored {}/{}, recomputed {}/{}{}", totals.basketId(),
+                 totals.runningTotal(), totals.runningPromotionalTotal(),
+                 recomputed.totalPrice(), recomputed.promotionalPrice(), repair ? ", repairing" : "");
+        if (repair) {
+            basketRepository.storeTotals(totals.basketId(), totals.version(), recomputed.totalPrice(),
+                                         recomputed.promotionalPrice(), recomputed.catalogVersion());
+        }
+        return true;
+    }
+}
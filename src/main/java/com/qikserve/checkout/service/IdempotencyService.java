@@ -0,0 +1,147 @@
+package com.qikserve.checkout.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qikserve.checkout.model.IdempotentResponse;
+import com.qikserve.checkout.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Service
+@Profile("!reactive")
+public class IdempotencyService {
+
+    private static final String CACHE_NAME = "idempotency";
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Cache<String, IdempotentResponse> completed;
+    // completes with the stored response, or empty if the owner gave the key up
+    private final ConcurrentMap<String, CompletableFuture<Optional<IdempotentResponse>>> inFlight = new ConcurrentHashMap<>();
+    private final Duration waitTimeout;
+    private final Duration lockTimeout;
+    private final Duration retention;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${checkout.idempotency.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${checkout.idempotency.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                              @Value("${checkout.idempotency.wait-timeout:10s}") Duration waitTimeout,
+                              @Value("${checkout.idempotency.lock-timeout:30s}") Duration lockTimeout,
+                              @Value("${checkout.idempotency.retention:24h}") Duration retention) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.waitTimeout = waitTimeout;
+        this.lockTimeout = lockTimeout;
+        this.retention = retention;
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, CACHE_NAME);
+    }
+
+    public Acquisition acquire(String key, String requestHash) {
+        while (true) {
+            var cached = completed.getIfPresent(key);
+            if (cached != null) {
+                return Acquisition.replay(cached, requestHash);
+            }
+            var owned = new CompletableFuture<Optional<IdempotentResponse>>();
+            var running = inFlight.putIfAbsent(key, owned);
+            if (running == null) {
+                return this.claim(key, requestHash, owned);
+            }
+            try {
+                var response = running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                if (response.isPresent()) {
+                    return Acquisition.replay(response.get(), requestHash);
+                }
+                // the first request failed without a replayable response, so this one may take the key over
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Acquisition.IN_PROGRESS;
+            } catch (ExecutionException | TimeoutException e) {
+                return Acquisition.IN_PROGRESS;
+            }
+        }
+    }
+
+    public void complete(String key, IdempotentResponse response) {
+        try {
+            idempotencyKeyRepository.complete(key, response);
+            completed.put(key, response);
+        } finally {
+            this.finish(key, Optional.of(response));
+        }
+    }
+
+    public void abandon(String key) {
+        try {
+            idempotencyKeyRepository.release(key);
+        } finally {
+            this.finish(key, Optional.empty());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${checkout.idempotency.purge-interval:1h}",
+            initialDelayString = "${checkout.idempotency.purge-interval:1h}")
+    public void purgeExpired() {
+        var deleted = idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(retention));
+        log.debug("Purged {} idempotency keys older than {}", deleted, retention);
+    }
+
+    private Acquisition claim(String key, String requestHash, CompletableFuture<Optional<IdempotentResponse>> owned) {
+        try {
+            var now = Instant.now();
+            if (idempotencyKeyRepository.claim(key, requestHash, now, now.minus(lockTimeout))) {
+                return Acquisition.OWNED;
+            }
+            // another instance holds the key: replay its response, or report it as still running
+            var stored = idempotencyKeyRepository.findCompleted(key);
+            stored.ifPresent(response -> completed.put(key, response));
+            inFlight.remove(key, owned);
+            owned.complete(stored);
+            return stored.map(response -> Acquisition.replay(response, requestHash)).orElse(Acquisition.IN_PROGRESS);
+        } catch (RuntimeException e) {
+            inFlight.remove(key, owned);
+            owned.complete(Optional.empty());
+            throw e;
+        }
+    }
+
+    private void finish(String key, Optional<IdempotentResponse> response) {
+        var running = inFlight.remove(key);
+        if (running != null) {
+            running.complete(response);
+        }
+    }
+
+    public record Acquisition(State state, IdempotentResponse response) {
+        static final Acquisition OWNED = new Acquisition(State.OWNED, null);
+        static final Acquisition IN_PROGRESS = new Acquisition(State.IN_PROGRESS, null);
+        static final Acquisition MISMATCH = new Acquisition(State.MISMATCH, null);
+
+        // a key reused with another body is a client bug, not a retry, so it never gets the first response
+        static Acquisition replay(IdempotentResponse response, String requestHash) {
+            return response.requestHash().equals(requestHash) ? new Acquisition(State.REPLAY, response) : MISMATCH;
+        }
+
+        public enum State {OWNED, REPLAY, IN_PROGRESS, MISMATCH}
+    }
+}
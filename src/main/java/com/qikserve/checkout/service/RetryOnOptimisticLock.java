@@ -0,0 +1,28 @@
+package com.qikserve.checkout.service;
+
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Retries a basket write that lost an optimistic-lock race with jittered exponential backoff, then hands over to
+// the named @Recover method
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(retryFor = ObjectOptimisticLockingFailureException.class,
+           maxAttemptsExpression = "${basket.optimistic-lock.max-attempts:3}",
+           backoff = @Backoff(delayExpression = "${basket.optimistic-lock.backoff-millis:10}",
+                              maxDelayExpression = "${basket.optimistic-lock.max-backoff-millis:100}",
+                              multiplier = 2, random = true))
+public @interface RetryOnOptimisticLock {
+
+    @AliasFor(annotation = Retryable.class, attribute = "recover")
+    String recover();
+}
@@ -1,19 +1,17 @@
 package com.qikserve.checkout.service.factory;
 
+import com.qikserve.checkout.jfr.PromotionEvaluationEvent;
 import com.qikserve.checkout.model.dto.BuyXGetYFree;
 import com.qikserve.checkout.model.dto.FlatPercent;
 import com.qikserve.checkout.model.dto.Product;
 import com.qikserve.checkout.model.dto.Promotion;
 import com.qikserve.checkout.model.dto.QtyBasedPriceOverride;
 import com.qikserve.checkout.service.promotion.BuyXGetYFreeStrategy;
+import com.qikserve.checkout.service.promotion.CompiledPromotions;
 import com.qikserve.checkout.service.promotion.FlatPercentStrategy;
 import com.qikserve.checkout.service.promotion.PromotionStrategy;
 import com.qikserve.checkout.service.promotion.QtyBasedPriceOverrideStrategy;
-import com.qikserve.checkout.util.PenceUtils;
-import lombok.Builder;
-import org.springframework.util.CollectionUtils;
-
-import java.math.BigDecimal;
+import org.apache.commons.collections4.CollectionUtils;
 
 public class PromotionStrategyFactory {
 
@@ -25,32 +23,23 @@ public class PromotionStrategyFactory {
         };
     }
 
-    private static BigDecimal applyPromotion(Operand operand) {
-        return getPromotionStrategy(operand.promotion())
-                .applyPromotion(
-                        operand.quantity(),
-                        operand.priceInPence());
+    public static Product compile(Product product) {
+        product.setCompiledPromotions(CompiledPromotions.compile(product, PromotionStrategyFactory::getPromotionStrategy));
+        return product;
     }
 
-    public static BigDecimal applyPromotions(Product product, int quantity) {
-        var promotions = product.getPromotions();
-        if (CollectionUtils.isEmpty(promotions)) {
-            return PenceUtils.computeTotal(quantity, product.getPrice());
+    public static CompiledPromotions getCompiledPromotions(Product product) {
+        var compiled = product.getCompiledPromotions();
+        if (compiled == null || !compiled.isCompiledFrom(product)) {
+            compiled = compile(product).getCompiledPromotions();
         }
-        Operand.OperandBuilder builder = Operand.builder().quantity(quantity).priceInPence(product.getPrice());
-
-        return promotions.stream()
-            .map(builder::build)
-            .map(PromotionStrategyFactory::applyPromotion)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return compiled;
     }
 
-    @Builder(buildMethodName = "_build")
-    private record Operand(Promotion promotion, int quantity, int priceInPence) {
-        public static class OperandBuilder {
-            public Operand build(final Promotion promotion) {
-                return this.promotion(promotion)._build();
-            }
-        }
+    public static long applyPromotions(Product product, int quantity) {
+        var event = PromotionEvaluationEvent.start();
+        var price = getCompiledPromotions(product).apply(quantity);
+        event.complete(product.getId(), quantity, CollectionUtils.size(product.getPromotions()), price);
+        return price;
     }
 }
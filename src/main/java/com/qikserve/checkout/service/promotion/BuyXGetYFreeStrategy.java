@@ -2,23 +2,23 @@ package com.qikserve.checkout.service.promotion;
 
 import com.qikserve.checkout.model.dto.BuyXGetYFree;
 import com.qikserve.checkout.model.dto.Promotion.PromotionType;
-import lombok.RequiredArgsConstructor;
 
-import java.math.BigDecimal;
-
-@RequiredArgsConstructor
 public class BuyXGetYFreeStrategy implements PromotionStrategy {
-    private final BuyXGetYFree promotion;
+    private final int requiredQty;
+
+    public BuyXGetYFreeStrategy(BuyXGetYFree promotion) {
+        this.requiredQty = promotion.getRequiredQty();
+    }
 
     @Override
-    public BigDecimal computeFinalPriceInPence(int quantity, int priceInPence) {
-        var diff = quantity - promotion.getRequiredQty();
-        return BigDecimal.valueOf(priceInPence).multiply(BigDecimal.valueOf(Integer.max(0, diff)));
+    public long computeFinalPriceInPence(int quantity, int priceInPence) {
+        var diff = Math.subtractExact(quantity, requiredQty);
+        return Math.multiplyExact((long) priceInPence, Integer.max(0, diff));
     }
 
     @Override
     public boolean isApplicable(int quantity, int priceInPence) {
-        return quantity >= promotion.getRequiredQty();
+        return quantity >= requiredQty;
     }
 
     @Override
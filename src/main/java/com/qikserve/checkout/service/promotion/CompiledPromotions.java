@@ -0,0 +1,52 @@
+package com.qikserve.checkout.service.promotion;
+
+import com.qikserve.checkout.model.dto.Product;
+import com.qikserve.checkout.model.dto.Promotion;
+import com.qikserve.checkout.util.PenceUtils;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public final class CompiledPromotions {
+
+    private final int priceInPence;
+    private final List<? extends Promotion> source;
+    private final PromotionStrategy[] strategies;
+    private final Timer timer;
+
+    private CompiledPromotions(int priceInPence, List<? extends Promotion> source, PromotionStrategy[] strategies) {
+        this.priceInPence = priceInPence;
+        this.source = source;
+        this.strategies = strategies;
+        // resolved once per compilation so the hot path never looks a meter up
+        this.timer = strategies.length == 0 ? null : PromotionMetrics.timer(strategies);
+    }
+
+    public static CompiledPromotions compile(Product product, Function<Promotion, PromotionStrategy> compiler) {
+        var promotions = product.getPromotions();
+        var strategies = promotions == null
+                ? new PromotionStrategy[0]
+                : promotions.stream().map(compiler).toArray(PromotionStrategy[]::new);
+        return new CompiledPromotions(product.getPrice(), promotions, strategies);
+    }
+
+    public boolean isCompiledFrom(Product product) {
+        return priceInPence == product.getPrice() && source == product.getPromotions();
+    }
+
+    public long apply(int quantity) {
+        if (strategies.length == 0) {
+            return PenceUtils.computeTotal(quantity, priceInPence);
+        }
+        // one clock read pair per line, not per strategy
+        var start = System.nanoTime();
+        var total = 0L;
+        for (PromotionStrategy strategy : strategies) {
+            total = PenceUtils.add(total, strategy.applyPromotion(quantity, priceInPence));
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return total;
+    }
+}
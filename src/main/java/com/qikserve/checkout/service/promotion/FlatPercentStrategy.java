@@ -2,20 +2,22 @@ package com.qikserve.checkout.service.promotion;
 
 import com.qikserve.checkout.model.dto.FlatPercent;
 import com.qikserve.checkout.model.dto.Promotion.PromotionType;
-import lombok.RequiredArgsConstructor;
+import com.qikserve.checkout.util.PenceUtils;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-
-@RequiredArgsConstructor
 public class FlatPercentStrategy implements PromotionStrategy {
-    private final FlatPercent promotion;
+    private static final long PERCENT = 100;
+
+    private final long payablePercent;
+
+    public FlatPercentStrategy(FlatPercent promotion) {
+        this.payablePercent = Math.subtractExact(PERCENT, promotion.getAmount());
+    }
 
+    // price * quantity * (100 - amount) / 100, rounded HALF_UP to whole pence
     @Override
-    public BigDecimal computeFinalPriceInPence(int quantity, int priceInPence) {
-        var percent = BigDecimal.valueOf(promotion.getAmount()).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        var factor = BigDecimal.valueOf(quantity).multiply(BigDecimal.ONE.subtract(percent));
-        return BigDecimal.valueOf(priceInPence).multiply(factor).setScale(0, RoundingMode.HALF_UP);
+    public long computeFinalPriceInPence(int quantity, int priceInPence) {
+        var payable = Math.multiplyExact(Math.multiplyExact((long) priceInPence, quantity), payablePercent);
+        return PenceUtils.divideHalfUp(payable, PERCENT);
     }
 
     @Override
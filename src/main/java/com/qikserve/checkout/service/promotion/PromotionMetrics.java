@@ -0,0 +1,28 @@
+package com.qikserve.checkout.service.promotion;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// strategies are compiled outside the Spring context, so their timer lives on the global registry Boot joins
+final class PromotionMetrics {
+
+    private PromotionMetrics() {
+    }
+
+    // tagged by the line's sorted set of promotion types: at most 2^|PromotionType| - 1 series
+    static Timer timer(PromotionStrategy[] strategies) {
+        var types = Arrays.stream(strategies)
+                .map(PromotionStrategy::getPromotionType)
+                .distinct()
+                .sorted()
+                .map(Enum::name)
+                .collect(Collectors.joining("+"));
+        return Timer.builder("promotion.evaluation")
+                .description("Time spent applying a product's promotions to a basket line")
+                .tag("types", types)
+                .register(Metrics.globalRegistry);
+    }
+}
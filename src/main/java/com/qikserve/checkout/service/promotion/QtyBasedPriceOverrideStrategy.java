@@ -2,25 +2,26 @@ package com.qikserve.checkout.service.promotion;
 
 import com.qikserve.checkout.model.dto.Promotion.PromotionType;
 import com.qikserve.checkout.model.dto.QtyBasedPriceOverride;
-import lombok.RequiredArgsConstructor;
 
-import java.math.BigDecimal;
-
-@RequiredArgsConstructor
 public class QtyBasedPriceOverrideStrategy implements PromotionStrategy {
-    private final QtyBasedPriceOverride promotion;
+    private final int requiredQty;
+    private final long discountedTerm;
+
+    public QtyBasedPriceOverrideStrategy(QtyBasedPriceOverride promotion) {
+        this.requiredQty = promotion.getRequiredQty();
+        this.discountedTerm = promotion.getPrice();
+    }
 
     @Override
-    public BigDecimal computeFinalPriceInPence(int quantity, int priceInPence) {
-        var fullPriceQty = BigDecimal.valueOf(quantity - promotion.getRequiredQty());
-        var fullPriceTerm = BigDecimal.valueOf(priceInPence).multiply(fullPriceQty);
-        var discountedTerm = BigDecimal.valueOf(promotion.getPrice());
-        return fullPriceTerm.add(discountedTerm);
+    public long computeFinalPriceInPence(int quantity, int priceInPence) {
+        var fullPriceQty = Math.subtractExact(quantity, requiredQty);
+        var fullPriceTerm = Math.multiplyExact((long) priceInPence, fullPriceQty);
+        return Math.addExact(fullPriceTerm, discountedTerm);
     }
 
     @Override
     public boolean isApplicable(int quantity, int priceInPence) {
-        return quantity >= promotion.getRequiredQty();
+        return quantity >= requiredQty;
     }
 
     @Override
@@ -0,0 +1,91 @@
+package com.qikserve.checkout.service.reactive;
+
+import com.qikserve.checkout.exception.BasketItemNotFoundException;
+import com.qikserve.checkout.model.BasketItem;
+import com.qikserve.checkout.model.dto.Product;
+import com.qikserve.checkout.model.reactive.BasketItemRow;
+import com.qikserve.checkout.repository.ProductRepository;
+import com.qikserve.checkout.repository.reactive.BasketItemRowRepository;
+import com.qikserve.checkout.repository.reactive.BasketRowRepository;
+import com.qikserve.checkout.service.BasketItemService;
+import com.qikserve.checkout.service.BasketPricing;
+import com.qikserve.checkout.service.BasketPricingCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveBasketItemService {
+    private final ProductRepository productRepository;
+
+    private final BasketItemRowRepository basketItemRowRepository;
+
+    private final BasketRowRepository basketRowRepository;
+
+    private final BasketItemService basketItemService;
+
+    private final BasketPricingCache basketPricingCache;
+
+    private final TransactionalOperator transactionalOperator;
+
+    public Mono<BasketPricing> price(Collection<BasketItem> items) {
+        final var catalogVersion = this.getCatalogVersion().orElse(null);
+        if (items == null || items.isEmpty()) {
+            return Mono.just(new BasketPricing(0L, 0L, catalogVersion));
+        }
+        return productRepository.findAllByIdReactive(items.stream()
+                        .map(BasketItem::getProductId)
+                        .collect(Collectors.toSet()))
+                .collectMap(Product::getId)
+                .map(productsById -> BasketPricing.of(items, productsById, catalogVersion));
+    }
+
+    public Optional<Long> getCatalogVersion() {
+        return productRepository.catalogVersion();
+    }
+
+    public Mono<BasketItem> getBasketItem(Long id) {
+        return basketItemRowRepository.findById(id)
+                .map(BasketItemRow::toBasketItem);
+    }
+
+    public Mono<BasketItem> update(Long id, BasketItem item) {
+        return this.getById(id)
+                .doOnNext(row -> basketItemService.validateQuantity(row.toBasketItem().withQuantity(item.getQuantity())))
+                .flatMap(row -> basketItemRowRepository.save(row.withQuantity(item.getQuantity())))
+                .flatMap(updated -> this.basketChanged(updated.basketId()).thenReturn(updated))
+                .map(BasketItemRow::toBasketItem)
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Void> deleteBasketItem(Long id) {
+        return this.getById(id)
+                .flatMap(row -> basketItemRowRepository.deleteById(id)
+                        .then(this.basketChanged(row.basketId())))
+                .as(transactionalOperator::transactional);
+    }
+
+    public void validateQuantity(BasketItem item) {
+        basketItemService.validateQuantity(item);
+    }
+
+    private Mono<Void> basketChanged(Long basketId) {
+        return basketRowRepository.touch(basketId)
+                .then(basketRowRepository.refreshSummary(basketId))
+                .doOnSuccess(refreshed -> basketPricingCache.invalidate(basketId))
+                .then();
+    }
+
+    private Mono<BasketItemRow> getById(Long id) {
+        return basketItemRowRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> BasketItemNotFoundException.of(id)));
+    }
+}
@@ -0,0 +1,176 @@
+package com.qikserve.checkout.service.reactive;
+
+import com.qikserve.checkout.exception.BasketConflictException;
+import com.qikserve.checkout.exception.BasketNotFoundException;
+import com.qikserve.checkout.exception.BasketNotOpenException;
+import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.model.BasketItem;
+import com.qikserve.checkout.model.BasketStatus;
+import com.qikserve.checkout.model.dto.Savings;
+import com.qikserve.checkout.model.reactive.BasketItemRow;
+import com.qikserve.checkout.model.reactive.BasketRow;
+import com.qikserve.checkout.repository.reactive.BasketItemRowRepository;
+import com.qikserve.checkout.repository.reactive.BasketRowRepository;
+import com.qikserve.checkout.service.BasketItemService;
+import com.qikserve.checkout.service.BasketPricing;
+import com.qikserve.checkout.service.BasketPricingCache;
+import com.qikserve.checkout.util.PenceUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.util.List;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveBasketService {
+    private final BasketRowRepository basketRowRepository;
+    private final BasketItemRowRepository basketItemRowRepository;
+    private final ReactiveBasketItemService basketItemService;
+    private final BasketPricingCache basketPricingCache;
+    private final TransactionalOperator transactionalOperator;
+    private final RetryBackoffSpec basketOptimisticLockRetry;
+
+    // closed baskets moved out by BasketArchiver stay readable
+    public Mono<Basket> getBasket(Long id) {
+        return basketRowRepository.findBasketById(id)
+                .flatMap(row -> this.getBasketItems(id).map(row::toBasket))
+                .switchIfEmpty(Mono.defer(() -> basketRowRepository.findArchivedById(id)
+                        .flatMap(row -> basketItemRowRepository.findArchivedByBasketId(id)
+                                .map(BasketItemRow::toBasketItem)
+                                .collectList()
+                                .map(row::toBasket))));
+    }
+
+    // Read view JSON kept by the writes; rebuilt here if a writer left it behind
+    public Mono<String> getBasketSummary(Long id) {
+        return basketRowRepository.findSummaryById(id)
+                .switchIfEmpty(Mono.defer(() -> basketRowRepository.refreshSummary(id)
+                        .filter(refreshed -> refreshed > 0)
+                        .flatMap(refreshed -> basketRowRepository.findSummaryById(id))));
+    }
+
+    public Mono<Basket> createBasket() {
+        return basketRowRepository.create(BasketStatus.OPEN.name())
+                .flatMap(created -> basketRowRepository.refreshSummary(created.id()).thenReturn(created))
+                .map(BasketRow::toBasket);
+    }
+
+    public Mono<BasketItem> addBasketItem(BasketItem basketItem) {
+        var id = basketItem.getBasketId();
+        return Mono.fromRunnable(() -> basketItemService.validateQuantity(basketItem))
+                .then(this.getOpenBasketById(id))
+                .flatMap(basket -> basketItemRowRepository.upsert(id, basketItem.getProductId(), basketItem.getQuantity()))
+                .flatMap(saved -> this.openBasketChanged(id).thenReturn(saved))
+                .map(BasketItemRow::toBasketItem)
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<List<BasketItem>> addBasketItems(Long id, List<BasketItem> basketItems) {
+        return Mono.fromRunnable(() -> basketItems.forEach(basketItemService::validateQuantity))
+                .then(this.getOpenBasketById(id))
+                .flatMap(basket -> {
+                    var quantities = BasketItemService.quantitiesByProduct(basketItems);
+                    return basketItemRowRepository.upsertAll(id,
+                                    quantities.keySet().toArray(String[]::new),
+                                    quantities.values().toArray(Integer[]::new))
+                            .map(BasketItemRow::toBasketItem)
+                            .collectList();
+                })
+                .flatMap(saved -> this.openBasketChanged(id).thenReturn(saved))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Void> cancelBasket(Long id) {
+        return this.getOpenBasketById(id)
+                .flatMap(basket -> basketRowRepository.updateStatus(id, basket.version(), BasketStatus.CANCELLED.name()))
+                .flatMap(updated -> this.requireUpdated(id, updated))
+                .flatMap(updated -> basketRowRepository.refreshSummary(id))
+                .as(transactionalOperator::transactional)
+                .retryWhen(this.conflictRetry(id))
+                .doOnSuccess(refreshed -> basketPricingCache.invalidate(id))
+                .then();
+    }
+
+    public Mono<Void> clearBasket(Long id) {
+        return basketItemRowRepository.clearBasket(id)
+                .then(this.basketChanged(id))
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Savings> calculateSavings(Long id) {
+        return basketRowRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> BasketNotFoundException.of(id)))
+                .flatMap(version -> this.price(id, version, this.getBasketItems(id)))
+                .map(BasketPricing::toSavings);
+    }
+
+    public Mono<Basket> checkout(Long id) {
+        return this.getOpenBasketById(id)
+                .flatMap(basket -> this.getBasketItems(id)
+                        .flatMap(items -> this.price(id, basket.version(), Mono.just(items))
+                                .flatMap(pricing -> {
+                                    var total = PenceUtils.toPounds(pricing.totalPrice());
+                                    return basketRowRepository.checkout(id, basket.version(), total)
+                                            .flatMap(updated -> this.requireUpdated(id, updated))
+                                            .flatMap(updated -> basketRowRepository.refreshSummary(id))
+                                            .thenReturn(basket.withTotal(total)
+                                                              .withStatus(BasketStatus.CHECKED_OUT)
+                                                              .toBasket(items));
+                                })))
+                .as(transactionalOperator::transactional)
+                .retryWhen(this.conflictRetry(id))
+                .doOnSuccess(checkedOut -> basketPricingCache.invalidate(id));
+    }
+
+    private Mono<BasketPricing> price(Long id, Long version, Mono<List<BasketItem>> items) {
+        var key = new BasketPricingCache.Key(id, version, basketItemService.getCatalogVersion().orElse(null));
+        return Mono.justOrEmpty(basketPricingCache.getIfPresent(key))
+                .switchIfEmpty(items.flatMap(basketItemService::price)
+                        .doOnNext(pricing -> basketPricingCache.put(key, pricing)));
+    }
+
+    private Mono<Integer> requireUpdated(Long id, Integer updated) {
+        return updated > 0
+                ? Mono.just(updated)
+                : Mono.error(() -> new OptimisticLockingFailureException("Basket " + id + " was modified concurrently"));
+    }
+
+    private RetryBackoffSpec conflictRetry(Long id) {
+        return basketOptimisticLockRetry.onRetryExhaustedThrow((spec, signal) -> BasketConflictException.of(id));
+    }
+
+    // Fails if checkout or cancel committed after the basket was read, rolling back the item change
+    private Mono<Void> openBasketChanged(Long id) {
+        return basketRowRepository.touchOpen(id)
+                .flatMap(touched -> touched > 0
+                        ? basketRowRepository.refreshSummary(id)
+                                .doOnSuccess(refreshed -> basketPricingCache.invalidate(id))
+                        : Mono.error(() -> BasketNotOpenException.of(id)))
+                .then();
+    }
+
+    private Mono<Void> basketChanged(Long id) {
+        return basketRowRepository.touch(id)
+                .then(basketRowRepository.refreshSummary(id))
+                .doOnSuccess(refreshed -> basketPricingCache.invalidate(id))
+                .then();
+    }
+
+    private Mono<List<BasketItem>> getBasketItems(Long id) {
+        return basketItemRowRepository.findAllByBasketId(id)
+                .map(BasketItemRow::toBasketItem)
+                .collectList();
+    }
+
+    private Mono<BasketRow> getOpenBasketById(Long id) {
+        return basketRowRepository.findBasketById(id)
+                .switchIfEmpty(Mono.error(() -> BasketNotFoundException.of(id)))
+                .doOnNext(basket -> BasketNotOpenException.of(id).throwIf(!basket.isOpen()));
+    }
+}
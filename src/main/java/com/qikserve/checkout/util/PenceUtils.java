@@ -1,15 +1,30 @@
 package com.qikserve.checkout.util;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 public class PenceUtils {
 
-    public static BigDecimal toPounds(BigDecimal value) {
-        return value.divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+    private static final int POUNDS_SCALE = 2;
+
+    public static BigDecimal toPounds(long pence) {
+        return BigDecimal.valueOf(pence, POUNDS_SCALE);
+    }
+
+    public static long computeTotal(int quantity, int priceInPence) {
+        return Math.multiplyExact((long) priceInPence, quantity);
+    }
+
+    public static long add(long augend, long addend) {
+        return Math.addExact(augend, addend);
     }
 
-    public static BigDecimal computeTotal(int quantity, int priceInPence) {
-        return BigDecimal.valueOf(priceInPence).multiply(BigDecimal.valueOf(quantity));
+    // Rounds half away from zero, matching RoundingMode.HALF_UP on the equivalent BigDecimal division
+    public static long divideHalfUp(long dividend, long divisor) {
+        var quotient = dividend / divisor;
+        var remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= Math.abs(divisor)) {
+            quotient += Long.signum(dividend) * Long.signum(divisor);
+        }
+        return quotient;
     }
 }
@@ -0,0 +1,58 @@
+package com.qikserve.checkout.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter collapsed;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.collapsed = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("outcome", "collapsed")
+                .register(meterRegistry);
+    }
+
+    public Mono<V> execute(K key, Function<? super K, ? extends Mono<V>> call) {
+        return Mono.defer(() -> {
+            var promise = new CompletableFuture<V>();
+            var existing = inFlight.putIfAbsent(key, promise);
+            if (existing != null) {
+                collapsed.increment();
+                return Mono.fromFuture(existing, true);
+            }
+            executed.increment();
+            // deferred, so a call that throws before returning its Mono still fails the promise and frees the key
+            Mono.defer(() -> call.apply(key)).toFuture().whenComplete((value, error) -> {
+                inFlight.remove(key, promise);
+                if (error != null) {
+                    promise.completeExceptionally(error);
+                } else {
+                    promise.complete(value);
+                }
+            });
+            return Mono.fromFuture(promise, true);
+        });
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public double collapsedCount() {
+        return collapsed.count();
+    }
+}
@@ -0,0 +1,25 @@
+-- Fold repeated product lines into the oldest row, then allow one row per product per basket
+UPDATE baskets b
+SET version = version + 1
+WHERE b.id IN (SELECT basket_id
+               FROM basket_items
+               GROUP BY basket_id, product_id
+               HAVING count(*) > 1);
+
+UPDATE basket_items bi
+SET quantity = merged.quantity
+FROM (SELECT min(id) AS id, sum(quantity)::INT AS quantity
+      FROM basket_items
+      GROUP BY basket_id, product_id
+      HAVING count(*) > 1) merged
+WHERE bi.id = merged.id;
+
+DELETE
+FROM basket_items bi
+USING basket_items kept
+WHERE kept.basket_id = bi.basket_id
+  AND kept.product_id = bi.product_id
+  AND kept.id < bi.id;
+
+ALTER TABLE basket_items
+    ADD CONSTRAINT basket_items_basket_id_product_id_key UNIQUE (basket_id, product_id);
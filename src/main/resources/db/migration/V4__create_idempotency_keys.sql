@@ -0,0 +1,15 @@
+-- Responses of requests sent with an Idempotency-Key; status is null while the first request is still running
+CREATE TABLE idempotency_keys
+(
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    -- hex SHA-256 of the request body the key was first sent with
+    request_hash    CHAR(64)     NOT NULL,
+    status          SMALLINT,
+    content_type    VARCHAR(255),
+    location        VARCHAR(255),
+    body            BYTEA,
+
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idempotency_keys_created_at_idx ON idempotency_keys (created_at);
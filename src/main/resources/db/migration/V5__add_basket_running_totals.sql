@@ -0,0 +1,11 @@
+-- Running list and promotional totals in pence, kept up to date by item mutations.
+-- NULL means they are unknown and have to be recomputed from the items.
+ALTER TABLE baskets
+    ADD COLUMN running_total             BIGINT DEFAULT 0,
+    ADD COLUMN running_promotional_total BIGINT DEFAULT 0,
+    ADD COLUMN running_catalog_version   BIGINT;
+
+UPDATE baskets b
+SET running_total             = NULL,
+    running_promotional_total = NULL
+WHERE EXISTS (SELECT 1 FROM basket_items bi WHERE bi.basket_id = b.id);
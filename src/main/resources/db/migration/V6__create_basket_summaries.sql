@@ -0,0 +1,29 @@
+-- Read view of each basket as served by GET /baskets/{id}, rebuilt by every write.
+-- A summary is only current while its version matches the basket's.
+CREATE TABLE basket_summaries
+(
+    basket_id INT PRIMARY KEY REFERENCES baskets (id) ON DELETE CASCADE,
+    version   BIGINT NOT NULL,
+    document  JSONB  NOT NULL
+);
+
+INSERT INTO basket_summaries (basket_id, version, document)
+SELECT b.id,
+       b.version,
+       jsonb_strip_nulls(jsonb_build_object(
+               'id', b.id,
+               'status', CAST(b.status AS TEXT),
+               'total', b.total,
+               'basket_items', COALESCE(i.items, CAST('[]' AS JSONB)),
+               'items_count', i.items_count))
+FROM baskets b
+         LEFT JOIN LATERAL (
+    SELECT jsonb_agg(jsonb_build_object(
+                             '@id', bi.seq,
+                             'id', bi.id,
+                             'basket_id', bi.basket_id,
+                             'product_id', bi.product_id,
+                             'quantity', bi.quantity) ORDER BY bi.id) AS items,
+           count(*)                                                   AS items_count
+    FROM (SELECT *, row_number() OVER (ORDER BY id) AS seq FROM basket_items WHERE basket_id = b.id) bi
+    ) i ON TRUE;
@@ -0,0 +1,51 @@
+-- Closed baskets older than basket.archive.min-age are moved here by BasketArchiver.
+-- Only the archive is partitioned: the hot tables keep their single-column primary keys for the
+-- foreign keys of basket_items and basket_summaries, and stay small once closed baskets leave them.
+-- Items are partitioned by their basket's created_at so a basket and its items share a month.
+CREATE TABLE baskets_archive
+(
+    id          INT           NOT NULL,
+    status      basket_status NOT NULL,
+    total       DECIMAL(10, 2),
+    version     BIGINT        NOT NULL,
+
+    created_at  TIMESTAMP     NOT NULL,
+    updated_at  TIMESTAMP,
+    archived_at TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE basket_items_archive
+(
+    id                INT       NOT NULL,
+    basket_id         INT       NOT NULL,
+    product_id        VARCHAR   NOT NULL,
+    quantity          INT       NOT NULL,
+    basket_created_at TIMESTAMP NOT NULL,
+
+    created_at        TIMESTAMP,
+    updated_at        TIMESTAMP,
+    PRIMARY KEY (id, basket_created_at)
+) PARTITION BY RANGE (basket_created_at);
+
+CREATE INDEX basket_items_archive_basket_id_idx ON basket_items_archive (basket_id, basket_created_at);
+
+-- Archival walks closed baskets oldest first and stops after a batch, so it needs them in created_at order
+CREATE INDEX baskets_closed_created_at_idx ON baskets (created_at) WHERE status <> 'OPEN';
+
+-- Monthly partitions covering from_ts to to_ts, created on demand before each archival batch
+CREATE FUNCTION create_basket_archive_partitions(from_ts TIMESTAMP, to_ts TIMESTAMP) RETURNS VOID AS
+$$
+DECLARE
+    month TIMESTAMP := date_trunc('month', from_ts);
+BEGIN
+    WHILE month <= to_ts
+        LOOP
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF baskets_archive FOR VALUES FROM (%L) TO (%L)',
+                           'baskets_archive_' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF basket_items_archive FOR VALUES FROM (%L) TO (%L)',
+                           'basket_items_archive_' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+            month := month + INTERVAL '1 month';
+        END LOOP;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,101 @@
+package com.qikserve.checkout.config;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProductsClientConfigTest {
+
+    private static final String PRODUCT_PATH = "/products/A";
+    private static final String PRODUCT_JSON = """
+            {"id": "A", "name": "Apple", "price": 100}
+            """;
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(300);
+
+    private final ProductsClientConfig config = new ProductsClientConfig();
+    private SimpleMeterRegistry meterRegistry;
+    private WireMockServer server;
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    @BeforeEach
+    public void setup() {
+        // the pool publishes its gauges on the global registry
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        server = new WireMockServer(wireMockConfig().dynamicPort());
+        server.start();
+        connectionProvider = config.productsConnectionProvider(4, 10, Duration.ofSeconds(1),
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ZERO);
+        var connector = config.productsClientConnector(connectionProvider, Duration.ofSeconds(1),
+                Duration.ofSeconds(10), READ_TIMEOUT, READ_TIMEOUT, true, true, false);
+        webClient = WebClient.builder().baseUrl(server.baseUrl()).clientConnector(connector).build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connectionProvider.dispose();
+        server.stop();
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    public void request_WhenUpstreamIsSlowerThanTheReadTimeout_ThenFailWithReadTimeout() {
+        // Given
+        server.stubFor(get(urlEqualTo(PRODUCT_PATH)).willReturn(okJson(PRODUCT_JSON).withFixedDelay(2_000)));
+
+        // When
+        var elapsed = StepVerifier.create(this.fetch())
+                .expectErrorSatisfies(e -> assertThat(e).hasRootCauseInstanceOf(ReadTimeoutException.class))
+                .verify(Duration.ofSeconds(5));
+
+        // Then the read timeout fired, not the much longer response timeout
+        assertThat(elapsed).isLessThan(Duration.ofMillis(1_500));
+    }
+
+    @Test
+    public void request_WhenConnectionIdlesLongerThanTheReadTimeout_ThenKeepItPooled() throws Exception {
+        // Given
+        server.stubFor(get(urlEqualTo(PRODUCT_PATH)).willReturn(okJson(PRODUCT_JSON)));
+        StepVerifier.create(this.fetch()).expectNextCount(1).verifyComplete();
+
+        // When
+        Thread.sleep(READ_TIMEOUT.multipliedBy(3).toMillis());
+
+        // Then
+        assertThat(this.poolGauge("idle")).isEqualTo(1.0);
+        assertThat(this.poolGauge("total")).isEqualTo(1.0);
+        StepVerifier.create(this.fetch()).expectNextCount(1).verifyComplete();
+        assertThat(this.poolGauge("total")).isEqualTo(1.0);
+    }
+
+    private Mono<String> fetch() {
+        return webClient.get().uri(PRODUCT_PATH).retrieve().bodyToMono(String.class);
+    }
+
+    private double poolGauge(String state) {
+        return meterRegistry.find("reactor.netty.connection.provider." + state + ".connections")
+                .tag("name", "products")
+                .gauges().stream()
+                .filter(gauge -> gauge.getId().getTag("remote.address").endsWith(":" + server.port()))
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+}
@@ -0,0 +1,82 @@
+package com.qikserve.checkout.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.model.BasketItem;
+import com.qikserve.checkout.model.BasketStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ViewCachingJackson2HttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .build();
+
+    private final MappingJackson2HttpMessageConverter defaultConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+
+    private final ViewCachingJackson2HttpMessageConverter cachedConverter = new ViewCachingJackson2HttpMessageConverter(objectMapper)
+            .precompile(Basket.Views.Read.class, Basket.class);
+
+    @Test
+    public void write_WhenViewIsSet_ThenOutputMatchesDefaultConverter() throws IOException {
+        // Given
+        var basket = this.basket();
+
+        // When / Then
+        for (var view : List.of(Basket.Views.Read.class, Basket.Views.Created.class)) {
+            assertThat(this.write(cachedConverter, basket, Basket.class, view))
+                    .isEqualTo(this.write(defaultConverter, basket, Basket.class, view));
+        }
+        for (var view : List.of(BasketItem.Views.Read.class, BasketItem.Views.Created.class)) {
+            var item = basket.getBasketItems().getFirst();
+            assertThat(this.write(cachedConverter, item, BasketItem.class, view))
+                    .isEqualTo(this.write(defaultConverter, item, BasketItem.class, view));
+        }
+    }
+
+    @Test
+    public void write_WhenCalledRepeatedly_ThenIdentitySequenceRestartsPerResponse() throws IOException {
+        // Given
+        var basket = this.basket();
+
+        // When
+        var first = this.write(cachedConverter, basket, Basket.class, Basket.Views.Read.class);
+        var second = this.write(cachedConverter, basket, Basket.class, Basket.Views.Read.class);
+
+        // Then
+        assertThat(first).isEqualTo(second).contains("\"@id\":1");
+    }
+
+    private String write(MappingJackson2HttpMessageConverter converter, Object body, Class<?> type, Class<?> view)
+            throws IOException {
+        var value = new MappingJacksonValue(body);
+        value.setSerializationView(view);
+        var output = new MockHttpOutputMessage();
+        converter.write(value, type, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsString();
+    }
+
+    private Basket basket() {
+        var basket = Basket.builder()
+                .id(1L)
+                .status(BasketStatus.OPEN)
+                .total(new BigDecimal("61.94"))
+                .build();
+        basket.setBasketItems(List.of(
+                BasketItem.builder().id(1L).basketId(1L).basket(basket).productId("PWWe3w1SDU").quantity(4).build(),
+                BasketItem.builder().id(2L).basketId(1L).basket(basket).productId("Dwt5F7KAhi").quantity(2).build()));
+        return basket;
+    }
+}
@@ -0,0 +1,66 @@
+package com.qikserve.checkout.integration;
+
+import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.model.BasketStatus;
+import com.qikserve.checkout.service.BasketArchiver;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("wiremock-client")
+public class BasketArchiveIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BasketArchiver basketArchiver;
+
+    @Test
+    void archive_WhenClosedBasketIsOld_ThenMoveItAndKeepItReadable() {
+        // Given
+        var id = this.webTestClient.post().uri("/baskets")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Basket.class)
+                .returnResult().getResponseBody().getId();
+        this.webTestClient.post().uri("/baskets/" + id + "/item")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"product_id\":\"PWWe3w1SDU\",\"quantity\":3}")
+                .exchange()
+                .expectStatus().isCreated();
+        var checkedOut = this.webTestClient.post().uri("/baskets/" + id + "/checkout")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Basket.class)
+                .returnResult().getResponseBody();
+        jdbcTemplate.update("update baskets set created_at = created_at - interval '400 days' where id = ?", id);
+
+        // When
+        var moved = basketArchiver.archive();
+
+        // Then
+        assertThat(moved).isGreaterThanOrEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from baskets where id = ?", Integer.class, id)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from basket_items where basket_id = ?", Integer.class, id)).isZero();
+        var archived = this.webTestClient.get().uri("/baskets/" + id)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Basket.class)
+                .returnResult().getResponseBody();
+        assertThat(archived.getStatus()).isEqualTo(BasketStatus.CHECKED_OUT);
+        assertThat(archived.getTotal()).isEqualByComparingTo(checkedOut.getTotal());
+        assertThat(archived.getBasketItems()).containsExactlyInAnyOrderElementsOf(checkedOut.getBasketItems());
+    }
+}
@@ -0,0 +1,133 @@
+package com.qikserve.checkout.integration;
+
+import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.model.BasketItem;
+import com.qikserve.checkout.model.BasketStatus;
+import com.qikserve.checkout.service.BasketItemService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"basket.optimistic-lock.max-attempts=3", "basket.optimistic-lock.backoff-millis=1"})
+@ActiveProfiles("wiremock-client")
+public class BasketConcurrencyIntegrationTest {
+
+    private static final String PRODUCT_ID = "PWWe3w1SDU";
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoSpyBean
+    private BasketItemService basketItemService;
+
+    @Test
+    void checkout_WhenRacingAddBasketItem_ThenChargesExactlyTheItemsThatWereAccepted() throws Exception {
+        // Given
+        var totalForOne = this.checkout(this.createBasketWithItem(1)).expectStatus().isOk()
+                .expectBody(Basket.class).returnResult().getResponseBody().getTotal();
+        var totalForTwo = this.checkout(this.createBasketWithItem(2)).expectStatus().isOk()
+                .expectBody(Basket.class).returnResult().getResponseBody().getTotal();
+
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            for (int round = 0; round < ROUNDS; round++) {
+                var basketId = this.createBasketWithItem(1);
+                var barrier = new CyclicBarrier(2);
+
+                // When
+                var checkout = CompletableFuture.supplyAsync(() -> {
+                    await(barrier);
+                    return this.checkout(basketId).returnResult(Basket.class);
+                }, executor);
+                var add = CompletableFuture.supplyAsync(() -> {
+                    await(barrier);
+                    return this.addItem(basketId, 1).returnResult(String.class).getStatus();
+                }, executor);
+
+                // Then
+                var checkoutResult = checkout.get();
+                var addStatus = add.get();
+                assertThat(checkoutResult.getStatus()).isEqualTo(HttpStatus.OK);
+                assertThat(addStatus).isIn(HttpStatus.CREATED, HttpStatus.BAD_REQUEST);
+                var checkedOut = checkoutResult.getResponseBody().blockFirst();
+                var accepted = HttpStatus.CREATED.equals(addStatus);
+                assertThat(checkedOut.getStatus()).isEqualTo(BasketStatus.CHECKED_OUT);
+                assertThat(checkedOut.getBasketItems())
+                        .singleElement()
+                        .extracting(BasketItem::getQuantity)
+                        .isEqualTo(accepted ? 2 : 1);
+                assertThat(checkedOut.getTotal()).isEqualByComparingTo(accepted ? totalForTwo : totalForOne);
+            }
+        }
+    }
+
+    @Test
+    void checkout_WhenEveryAttemptLosesTheOptimisticLock_ThenRetriesAndAnswersConflict() {
+        // Given
+        var basketId = this.createBasketWithItem(1);
+        doThrow(new ObjectOptimisticLockingFailureException(Basket.class, basketId))
+                .when(basketItemService).price(anyCollection());
+
+        // When
+        var problem = this.checkout(basketId)
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody(ProblemDetail.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        assertThat(problem.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        verify(basketItemService, times(3)).price(anyCollection());
+        this.webTestClient.get().uri("/baskets/" + basketId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(BasketStatus.OPEN.name());
+    }
+
+    private Long createBasketWithItem(int quantity) {
+        var basket = this.webTestClient.post().uri("/baskets")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Basket.class)
+                .returnResult().getResponseBody();
+        this.addItem(basket.getId(), quantity).expectStatus().isCreated();
+        return basket.getId();
+    }
+
+    private WebTestClient.ResponseSpec addItem(Long basketId, int quantity) {
+        return this.webTestClient.post().uri("/baskets/" + basketId + "/item")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"product_id\":\"" + PRODUCT_ID + "\",\"quantity\":" + quantity + "}")
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec checkout(Long basketId) {
+        return this.webTestClient.post().uri("/baskets/" + basketId + "/checkout").exchange();
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
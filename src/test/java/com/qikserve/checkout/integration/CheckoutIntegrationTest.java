@@ -69,12 +69,15 @@ public class CheckoutIntegrationTest {
 
         var item1 = itemBuilder.productId("PWWe3w1SDU").build();
         var item2 = itemBuilder.productId("Dwt5F7KAhi").build();
+        var item3 = itemBuilder.productId("C8GDyLrHJb").build();
 
         addBasketItem(item1.withQuantity(4));
         addBasketItem(item2.withQuantity(2));
         simulateAndValidate(id, "61.94", "37.97", "23.97");
 
-        addBasketItem(item1.withQuantity(1));
+        var merged = addBasketItem(item1.withQuantity(1));
+        assertThat(merged.getQuantity()).isEqualTo(5);
+        assertThat(getBasket(id).getItemsCount()).isEqualTo(2);
         simulateAndValidate(id, "71.93", "47.96", "23.97");
 
         addBasketItem(item2.withQuantity(0), BasketInvalidQuantityException::of);
@@ -86,7 +89,7 @@ public class CheckoutIntegrationTest {
 
         var added1 = addBasketItem(item1.withQuantity(4));
         var added2 = addBasketItem(item2.withQuantity(2));
-        var removed = addBasketItem(item1.withQuantity(100)).getId();
+        var removed = addBasketItem(item3.withQuantity(100)).getId();
 
         removeBasketItem(removed);
         assertThat(getBasket(id).getItemsCount()).isEqualTo(2);
@@ -102,6 +105,13 @@ public class CheckoutIntegrationTest {
                         .withTotal(new BigDecimal("61.94")));
         assertThat(checkout.getBasketItems())
                 .containsExactlyInAnyOrder(added1, added2);
+
+        var summary = getBasket(id);
+        assertThat(summary.getStatus()).isEqualTo(BasketStatus.CHECKED_OUT);
+        assertThat(summary.getTotal()).isEqualByComparingTo("61.94");
+        assertThat(summary.getItemsCount()).isEqualTo(2);
+        assertThat(summary.getBasketItems())
+                .containsExactlyInAnyOrder(added1, added2);
         addBasketItem(item1.withQuantity(1), () -> BasketNotOpenException.of(id));
     }
 
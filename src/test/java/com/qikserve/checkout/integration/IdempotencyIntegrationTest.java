@@ -0,0 +1,94 @@
+package com.qikserve.checkout.integration;
+
+import com.qikserve.checkout.config.IdempotencyFilter;
+import com.qikserve.checkout.model.Basket;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("wiremock-client")
+public class IdempotencyIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void checkout_WhenRetriedWithSameIdempotencyKey_ThenReplayFirstResponse() {
+        // Given
+        var basket = this.webTestClient.post().uri("/baskets")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Basket.class)
+                .returnResult().getResponseBody();
+        var checkoutUri = "/baskets/" + basket.getId() + "/checkout";
+        this.webTestClient.post().uri("/baskets/" + basket.getId() + "/item")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"product_id\":\"PWWe3w1SDU\",\"quantity\":3}")
+                .exchange()
+                .expectStatus().isCreated();
+        var first = this.webTestClient.post().uri(checkoutUri)
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, "checkout-" + basket.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        // When
+        var replayed = this.webTestClient.post().uri(checkoutUri)
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, "checkout-" + basket.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true")
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        assertThat(replayed).isEqualTo(first);
+        this.webTestClient.post().uri(checkoutUri)
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, "another-key")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void addBasketItem_WhenIdempotencyKeyIsReusedWithAnotherBody_ThenUnprocessableEntity() {
+        // Given
+        var basket = this.webTestClient.post().uri("/baskets")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Basket.class)
+                .returnResult().getResponseBody();
+        var itemUri = "/baskets/" + basket.getId() + "/item";
+        var key = "add-" + basket.getId();
+        this.webTestClient.post().uri(itemUri)
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"product_id\":\"PWWe3w1SDU\",\"quantity\":3}")
+                .exchange()
+                .expectStatus().isCreated();
+
+        // When
+        var reused = this.webTestClient.post().uri(itemUri)
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"product_id\":\"PWWe3w1SDU\",\"quantity\":5}")
+                .exchange();
+
+        // Then
+        reused.expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectHeader().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED);
+        this.webTestClient.get().uri("/baskets/" + basket.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.basket_items[0].quantity").isEqualTo(3);
+    }
+}
@@ -0,0 +1,111 @@
+package com.qikserve.checkout.integration;
+
+import com.qikserve.checkout.jfr.CheckoutEvent;
+import com.qikserve.checkout.jfr.ProductFetchEvent;
+import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.repository.ProductCatalog;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "product.catalog.snapshot.enabled=true")
+@ActiveProfiles("wiremock-client")
+public class JfrEventsIntegrationTest {
+
+    private static final String PRODUCT_ID = "PWWe3w1SDU";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void checkout_WhenRecording_ThenCommitsCheckoutEventWithBasketLinesAndCatalogVersion() throws IOException {
+        // Given
+        var basket = this.createBasketWithItem();
+        var catalogVersion = productCatalog.current().orElseThrow().version();
+
+        // When
+        var events = this.record(CheckoutEvent.class, () -> this.webTestClient.post()
+                .uri("/baskets/" + basket.getId() + "/checkout")
+                .exchange()
+                .expectStatus().isOk());
+
+        // Then
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("com.qikserve.checkout.Checkout"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getLong("basketId")).isEqualTo(basket.getId());
+                    assertThat(event.getInt("lineCount")).isEqualTo(1);
+                    assertThat(event.getLong("catalogVersion")).isEqualTo(catalogVersion);
+                    assertThat(event.getBoolean("checkedOut")).isTrue();
+                    assertThat(event.getDuration()).isPositive();
+                });
+    }
+
+    @Test
+    void productFetch_WhenRecording_ThenCommitsProductFetchEventWithIdStatusAndLatency() throws IOException {
+        // When
+        var events = this.record(ProductFetchEvent.class, productCatalog::refresh);
+
+        // Then
+        var fetches = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.qikserve.checkout.ProductFetch"))
+                .toList();
+        assertThat(fetches)
+                .anySatisfy(event -> assertThat(event.getString("productId")).isEqualTo("*"))
+                .filteredOn(event -> PRODUCT_ID.equals(event.getString("productId")))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getInt("status")).isEqualTo(200);
+                    assertThat(event.getString("outcome")).isEqualTo("SUCCESS");
+                    assertThat(event.getDuration()).isPositive().isLessThan(Duration.ofSeconds(5));
+                });
+    }
+
+    private Basket createBasketWithItem() {
+        var basket = this.webTestClient.post().uri("/baskets")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Basket.class)
+                .returnResult().getResponseBody();
+        this.webTestClient.post().uri("/baskets/" + basket.getId() + "/item")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"product_id\":\"" + PRODUCT_ID + "\",\"quantity\":3}")
+                .exchange()
+                .expectStatus().isCreated();
+        return basket;
+    }
+
+    private List<RecordedEvent> record(Class<? extends jdk.jfr.Event> eventType, Runnable action) throws IOException {
+        var dump = tempDir.resolve(eventType.getSimpleName() + ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable(eventType).withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(dump);
+        }
+        return RecordingFile.readAllEvents(dump);
+    }
+}
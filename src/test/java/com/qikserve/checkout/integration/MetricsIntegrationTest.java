@@ -0,0 +1,55 @@
+package com.qikserve.checkout.integration;
+
+import com.qikserve.checkout.model.Basket;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("wiremock-client")
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void prometheusEndpoint_WhenCheckoutHotPathWasUsed_ThenExposesItsMetrics() {
+        // Given
+        var basket = this.webTestClient.post().uri("/baskets")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Basket.class)
+                .returnResult().getResponseBody();
+        this.webTestClient.post().uri("/baskets/" + basket.getId() + "/item")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"product_id\":\"PWWe3w1SDU\",\"quantity\":3}")
+                .exchange()
+                .expectStatus().isCreated();
+        this.webTestClient.get().uri("/baskets/" + basket.getId() + "/savings")
+                .exchange()
+                .expectStatus().isOk();
+
+        // When
+        var scrape = this.webTestClient.get().uri("/actuator/prometheus")
+                .accept(MediaType.TEXT_PLAIN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        assertThat(scrape)
+                .contains("basket_items_add_seconds_bucket")
+                .contains("basket_savings_seconds_bucket")
+                .contains("product_upstream_requests_seconds_bucket")
+                .contains("outcome=\"SUCCESS\"")
+                .contains("hikaricp_connections_active")
+                .contains("cache_gets_total")
+                .containsPattern("promotion_evaluation_seconds_count\\{[^}]*types=\"BUY_X_GET_Y_FREE\"");
+    }
+}
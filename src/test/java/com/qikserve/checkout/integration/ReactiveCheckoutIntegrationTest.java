@@ -0,0 +1,165 @@
+package com.qikserve.checkout.integration;
+
+import com.qikserve.checkout.model.Basket;
+import com.qikserve.checkout.model.BasketItem;
+import com.qikserve.checkout.model.BasketStatus;
+import com.qikserve.checkout.model.dto.Savings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.DispatcherHandler;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"wiremock-client", "reactive"})
+public class ReactiveCheckoutIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:13");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://%s:%d/%s".formatted(
+                postgres.getHost(), postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), postgres.getDatabaseName()));
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private static final String BASKETS_PATH = "/baskets";
+    private static final String ITEMS_PATH = "/basketItems";
+
+    @Test
+    void reactiveProfile_ThenServesFromWebFlux() {
+        assertThat(context.getBeanNamesForType(DispatcherHandler.class)).isNotEmpty();
+    }
+
+    @Test
+    void completeCheckoutFlowTest() {
+        var id = createBasket().getId();
+
+        var itemBuilder = BasketItem.builder().basketId(id);
+        var item1 = itemBuilder.productId("PWWe3w1SDU").build();
+        var item2 = itemBuilder.productId("Dwt5F7KAhi").build();
+        var item3 = itemBuilder.productId("C8GDyLrHJb").build();
+
+        var added1 = addBasketItem(item1.withQuantity(4));
+        var added2 = addBasketItem(item2.withQuantity(2));
+        validateSavings(id, "61.94", "37.97", "23.97");
+
+        var removed = addBasketItem(item3.withQuantity(100)).getId();
+        removeBasketItem(removed);
+        assertThat(getBasket(id).getItemsCount()).isEqualTo(2);
+        validateSavings(id, "61.94", "37.97", "23.97");
+
+        addBasketItem(item2.withQuantity(0), HttpStatus.BAD_REQUEST);
+
+        var checkout = checkoutBasket(id);
+        assertThat(checkout.getStatus()).isEqualTo(BasketStatus.CHECKED_OUT);
+        assertThat(checkout.getTotal()).isEqualByComparingTo(new BigDecimal("61.94"));
+        assertThat(checkout.getBasketItems()).containsExactlyInAnyOrder(added1, added2);
+
+        addBasketItem(item1.withQuantity(1), HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void missingBasket_ThenNotFound() {
+        this.webTestClient.get().uri(BASKETS_PATH + "/" + Long.MAX_VALUE)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private void validateSavings(Long basketId, String total, String promo, String saved) {
+        var savings = this.webTestClient.get().uri(BASKETS_PATH + "/" + basketId + "/savings")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Savings.class).returnResult().getResponseBody();
+        assertThat(savings).satisfies(s -> {
+            assertThat(s.getTotalPrice()).isEqualByComparingTo(total);
+            assertThat(s.getPromotionalPrice()).isEqualByComparingTo(promo);
+            assertThat(s.getSavings()).isEqualByComparingTo(saved);
+        });
+    }
+
+    private Basket createBasket() {
+        return this.webTestClient.post().uri(BASKETS_PATH)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Basket.class).returnResult().getResponseBody();
+    }
+
+    private BasketItem addBasketItem(BasketItem item) {
+        return this.webTestClient.post().uri(BASKETS_PATH + "/" + item.getBasketId() + "/item")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(toBody(item))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BasketItem.class).returnResult().getResponseBody();
+    }
+
+    private void addBasketItem(BasketItem item, HttpStatus status) {
+        this.webTestClient.post().uri(BASKETS_PATH + "/" + item.getBasketId() + "/item")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(toBody(item))
+                .exchange()
+                .expectStatus().isEqualTo(status);
+    }
+
+    private Basket checkoutBasket(Long basketId) {
+        return this.webTestClient.post().uri(BASKETS_PATH + "/" + basketId + "/checkout")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Basket.class).returnResult().getResponseBody();
+    }
+
+    private void removeBasketItem(Long id) {
+        this.webTestClient.delete().uri(ITEMS_PATH + "/" + id)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    private Basket getBasket(Long basketId) {
+        return this.webTestClient.get().uri(BASKETS_PATH + "/" + basketId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Basket.class).returnResult().getResponseBody();
+    }
+
+    private static Map<String, Object> toBody(BasketItem item) {
+        var body = new HashMap<String, Object>();
+        body.put("product_id", item.getProductId());
+        body.put("quantity", item.getQuantity());
+        return body;
+    }
+}
@@ -0,0 +1,180 @@
+package com.qikserve.checkout.performance;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.qikserve.checkout.CheckoutServiceApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Before/after comparison of request throughput with platform and virtual request threads. Every client
+ * polls {@code GET /baskets/{id}/savings} for its own basket of distinct products, with the product and
+ * pricing caches expiring immediately, so each request blocks on its own product API calls against a WireMock
+ * upstream that delays every response. Run with {@code mvn test -Dperf=true -Dtest=VirtualThreadThroughputTest};
+ * tune with {@code -Dperf.concurrency}, {@code -Dperf.delay} and {@code -Dperf.duration}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+public class VirtualThreadThroughputTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("perf.concurrency", 400);
+    private static final Duration UPSTREAM_DELAY = Duration.parse(System.getProperty("perf.delay", "PT0.1S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("perf.duration", "PT15S"));
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final int PLATFORM_THREADS = 50;
+    private static final int LINES_PER_BASKET = 3;
+
+    private WireMockServer upstream;
+
+    @BeforeEach
+    public void startUpstream() {
+        upstream = new WireMockServer(wireMockConfig().dynamicPort());
+        upstream.start();
+        for (int i = 0; i < CONCURRENCY * LINES_PER_BASKET; i++) {
+            upstream.stubFor(get(urlEqualTo("/products/" + productId(i)))
+                    .willReturn(okJson("""
+                            {"id": "%s", "name": "Product %d", "price": %d}
+                            """.formatted(productId(i), i, 100 + i))
+                            .withFixedDelay(Math.toIntExact(UPSTREAM_DELAY.toMillis()))));
+        }
+    }
+
+    @AfterEach
+    public void stopUpstream() {
+        upstream.stop();
+    }
+
+    @Test
+    public void virtualThreads_WhenUpstreamIsSlow_ThenServeMoreRequestsThanPlatformThreads() throws Exception {
+        var platform = this.measure(false);
+        var virtual = this.measure(true);
+
+        log.info("""
+
+                Throughput for GET /baskets/{id}/savings with {} concurrent clients, {} distinct products per basket and a {} upstream delay
+                  platform threads (max {}): {} req/s, {} errors
+                  virtual threads:            {} req/s, {} errors""",
+                CONCURRENCY, LINES_PER_BASKET, UPSTREAM_DELAY, PLATFORM_THREADS,
+                String.format("%.1f", platform.throughput()), platform.errors(),
+                String.format("%.1f", virtual.throughput()), virtual.errors());
+
+        assertThat(virtual.throughput()).isGreaterThan(platform.throughput());
+    }
+
+    private Result measure(boolean virtualThreads) throws Exception {
+        try (var context = new SpringApplicationBuilder(CheckoutServiceApplication.class)
+                .profiles("api-client")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "server.tomcat.accept-count=" + CONCURRENCY * 2,
+                        "server.tomcat.max-connections=" + CONCURRENCY * 2,
+                        "product.api.base.url=" + upstream.baseUrl(),
+                        "product.api.token=perf",
+                        "product.api.pool.max-connections=" + CONCURRENCY * LINES_PER_BASKET,
+                        // every savings request looks its products up again instead of reading a cache
+                        "product.cache.expire-after-write=1ms",
+                        "product.cache.refresh-after-write=1ms",
+                        "product.cache.negative-ttl=1ms",
+                        "basket.pricing-cache.expire-after-write=1ms",
+                        "spring.jpa.show-sql=false")
+                .run();
+             var client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            var port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            var baseUri = URI.create("http://localhost:" + port);
+            var savings = this.createBaskets(client, baseUri);
+            this.drive(client, savings, WARMUP);
+            return this.drive(client, savings, DURATION);
+        }
+    }
+
+    // one basket per client, each with its own products, so no two requests share a product lookup
+    private List<URI> createBaskets(HttpClient client, URI baseUri) throws Exception {
+        try (var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<URI>>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                var basket = i;
+                futures.add(workers.submit(() -> {
+                    var created = client.send(HttpRequest.newBuilder(baseUri.resolve("/baskets"))
+                            .POST(HttpRequest.BodyPublishers.noBody())
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                    var location = baseUri.resolve(created.headers().firstValue("Location").orElseThrow());
+                    var lines = IntStream.range(0, LINES_PER_BASKET)
+                            .mapToObj(line -> """
+                                    {"product_id": "%s", "quantity": 2}""".formatted(productId(basket * LINES_PER_BASKET + line)))
+                            .collect(Collectors.joining(",", "[", "]"));
+                    var added = client.send(HttpRequest.newBuilder(URI.create(location + "/items"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(lines))
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                    assertThat(added.statusCode()).isEqualTo(201);
+                    return URI.create(location + "/savings");
+                }));
+            }
+            var uris = new ArrayList<URI>();
+            for (var future : futures) {
+                uris.add(future.get());
+            }
+            return uris;
+        }
+    }
+
+    private Result drive(HttpClient client, List<URI> savings, Duration duration) throws Exception {
+        var completed = new AtomicLong();
+        var errors = new AtomicLong();
+        var started = System.nanoTime();
+        var deadline = started + duration.toNanos();
+        try (var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<?>>();
+            for (var uri : savings) {
+                var request = HttpRequest.newBuilder(uri).GET().build();
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            (response.statusCode() == 200 ? completed : errors).incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+        var elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        return new Result(completed.get() / elapsedSeconds, errors.get());
+    }
+
+    private static String productId(int index) {
+        return "P%05d".formatted(index);
+    }
+
+    private record Result(double throughput, long errors) {
+    }
+}
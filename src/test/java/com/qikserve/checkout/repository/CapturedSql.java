@@ -0,0 +1,30 @@
+package com.qikserve.checkout.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Records the SQL Hibernate sends, so plans are checked for the statements the repositories really run
+public class CapturedSql implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+
+    static String last(String verb) {
+        return STATEMENTS.reversed().stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith(verb))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + verb + " statement was captured"));
+    }
+}
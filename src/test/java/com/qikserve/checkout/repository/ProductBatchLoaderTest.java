@@ -0,0 +1,133 @@
+package com.qikserve.checkout.repository;
+
+import com.qikserve.checkout.model.dto.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProductBatchLoaderTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(5);
+
+    private final List<Set<String>> batches = new CopyOnWriteArrayList<>();
+    private VirtualTimeScheduler scheduler;
+
+    @BeforeEach
+    public void setup() {
+        scheduler = VirtualTimeScheduler.create();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    public void load_WhenWindowElapses_ThenResolvePendingIdsInOneBatch() {
+        // Given
+        var loader = this.loader(10, ids -> Flux.fromIterable(ids).map(id -> product(id, 100)));
+
+        // When
+        var a = loader.load("A").toFuture();
+        var b = loader.load("B").toFuture();
+        assertThat(batches).isEmpty();
+        scheduler.advanceTimeBy(WINDOW);
+
+        // Then
+        assertThat(batches).containsExactly(Set.of("A", "B"));
+        assertThat(a.join().getId()).isEqualTo("A");
+        assertThat(b.join().getId()).isEqualTo("B");
+    }
+
+    @Test
+    public void load_WhenMaxBatchSizeIsReached_ThenDispatchWithoutWaitingForTheWindow() {
+        // Given
+        var loader = this.loader(2, ids -> Flux.fromIterable(ids).map(id -> product(id, 100)));
+
+        // When
+        var a = loader.load("A").toFuture();
+        var b = loader.load("B").toFuture();
+        var c = loader.load("C").toFuture();
+
+        // Then
+        assertThat(batches).containsExactly(Set.of("A", "B"));
+        assertThat(a.join().getId()).isEqualTo("A");
+        assertThat(b.join().getId()).isEqualTo("B");
+        assertThat(c).isNotDone();
+
+        // And the remainder waits for its own window
+        scheduler.advanceTimeBy(WINDOW);
+        assertThat(batches).containsExactly(Set.of("A", "B"), Set.of("C"));
+        assertThat(c.join().getId()).isEqualTo("C");
+    }
+
+    @Test
+    public void load_WhenTheSameIdIsRequestedTwice_ThenSendItOnceAndAnswerBoth() {
+        // Given
+        var loader = this.loader(10, ids -> Flux.fromIterable(ids).map(id -> product(id, 100)));
+
+        // When
+        var first = loader.load("A").toFuture();
+        var second = loader.load("A").toFuture();
+        scheduler.advanceTimeBy(WINDOW);
+
+        // Then
+        assertThat(batches).containsExactly(Set.of("A"));
+        assertThat(first.join().getId()).isEqualTo("A");
+        assertThat(second.join().getId()).isEqualTo("A");
+    }
+
+    @Test
+    public void load_WhenAnIdIsMissingFromTheBatch_ThenCompleteItEmpty() {
+        // Given
+        var loader = this.loader(10, ids -> Flux.just(product("A", 100), product("Z", 300)));
+
+        // When
+        var a = loader.load("A").toFuture();
+        var b = loader.load("B").toFuture();
+        scheduler.advanceTimeBy(WINDOW);
+
+        // Then
+        assertThat(a.join().getId()).isEqualTo("A");
+        assertThat(b.join()).isNull();
+    }
+
+    @Test
+    public void load_WhenTheBatchFails_ThenFailEveryCaller() {
+        // Given
+        var loader = this.loader(10, ids -> Flux.error(new IllegalStateException("upstream down")));
+
+        // When
+        var a = loader.load("A").toFuture();
+        var b = loader.load("B").toFuture();
+        scheduler.advanceTimeBy(WINDOW);
+
+        // Then
+        assertThatThrownBy(a::join).isInstanceOf(CompletionException.class).hasRootCauseMessage("upstream down");
+        assertThatThrownBy(b::join).isInstanceOf(CompletionException.class).hasRootCauseMessage("upstream down");
+    }
+
+    private ProductBatchLoader loader(int maxBatchSize, Function<Set<String>, Flux<Product>> bulkFetch) {
+        return new ProductBatchLoader(ids -> {
+            batches.add(Set.copyOf(ids));
+            return bulkFetch.apply(ids);
+        }, maxBatchSize, WINDOW, new SimpleMeterRegistry(), scheduler);
+    }
+
+    private static Product product(String id, int price) {
+        return Product.builder().id(id).name(id).price(price).build();
+    }
+}
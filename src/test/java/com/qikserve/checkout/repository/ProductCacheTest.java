@@ -0,0 +1,155 @@
+package com.qikserve.checkout.repository;
+
+import com.qikserve.checkout.model.dto.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration NEGATIVE_TTL = Duration.ofSeconds(30);
+
+    @Mock
+    private ProductClient productClient;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void get_WhenWithinTtl_ThenServeFromCache() {
+        // Given
+        var cache = this.cache(Duration.ofHours(1));
+        when(productClient.fetchById("A")).thenReturn(Mono.just(product("A", 100)));
+
+        // When
+        cache.get("A").block();
+        this.advance(TTL.minusSeconds(1));
+        var product = cache.get("A").block();
+
+        // Then
+        assertThat(product.getPrice()).isEqualTo(100);
+        verify(productClient, times(1)).fetchById("A");
+    }
+
+    @Test
+    public void get_WhenTtlElapsed_ThenFetchAgain() {
+        // Given
+        var cache = this.cache(Duration.ofHours(1));
+        when(productClient.fetchById("A")).thenReturn(Mono.just(product("A", 100)), Mono.just(product("A", 120)));
+
+        // When
+        cache.get("A").block();
+        this.advance(TTL.plusSeconds(1));
+        var product = cache.get("A").block();
+
+        // Then
+        assertThat(product.getPrice()).isEqualTo(120);
+        verify(productClient, times(2)).fetchById("A");
+    }
+
+    @Test
+    public void get_WhenProductIsUnknown_ThenCacheTheMissForTheNegativeTtl() {
+        // Given
+        var cache = this.cache(Duration.ofHours(1));
+        when(productClient.fetchById("X")).thenReturn(Mono.empty());
+
+        // When
+        assertThat(cache.get("X").blockOptional()).isEmpty();
+        this.advance(NEGATIVE_TTL.minusSeconds(1));
+        assertThat(cache.get("X").blockOptional()).isEmpty();
+        verify(productClient, times(1)).fetchById("X");
+        this.advance(Duration.ofSeconds(2));
+        assertThat(cache.get("X").blockOptional()).isEmpty();
+
+        // Then
+        verify(productClient, times(2)).fetchById("X");
+    }
+
+    @Test
+    public void get_WhenProductIsStale_ThenExpireAfterTheNegativeTtl() {
+        // Given
+        var cache = this.cache(Duration.ofHours(1));
+        when(productClient.fetchById("A"))
+                .thenReturn(Mono.just(product("A", 100).withStale(true)), Mono.just(product("A", 120)));
+
+        // When
+        assertThat(cache.get("A").block().isStale()).isTrue();
+        this.advance(NEGATIVE_TTL.plusSeconds(1));
+        var product = cache.get("A").block();
+
+        // Then
+        assertThat(product.isStale()).isFalse();
+        assertThat(product.getPrice()).isEqualTo(120);
+        verify(productClient, times(2)).fetchById("A");
+    }
+
+    @Test
+    public void get_WhenRefreshIntervalElapsed_ThenServeCachedValueAndReloadInBackground() {
+        // Given
+        var cache = this.cache(Duration.ofMinutes(1));
+        when(productClient.fetchById("A")).thenReturn(Mono.just(product("A", 100)), Mono.just(product("A", 120)));
+        cache.get("A").block();
+
+        // When
+        this.advance(Duration.ofSeconds(61));
+        var served = cache.get("A").block();
+        var refreshed = cache.get("A").block();
+
+        // Then
+        assertThat(served.getPrice()).isEqualTo(100);
+        assertThat(refreshed.getPrice()).isEqualTo(120);
+        verify(productClient, times(2)).fetchById("A");
+    }
+
+    @Test
+    public void get_ThenPublishHitsAndMissesUnderTheProductsCacheName() {
+        // Given
+        var cache = this.cache(Duration.ofHours(1));
+        when(productClient.fetchById("A")).thenReturn(Mono.just(product("A", 100)));
+
+        // When
+        cache.get("A").block();
+        cache.get("A").block();
+        cache.get("A").block();
+
+        // Then
+        assertThat(cache.stats().hitCount()).isEqualTo(2);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private ProductCache cache(Duration refreshAfterWrite) {
+        return new ProductCache(productClient, meterRegistry, 100, TTL, refreshAfterWrite, NEGATIVE_TTL,
+                nanos::get, Runnable::run);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static Product product(String id, int price) {
+        return Product.builder().id(id).name(id).price(price).build();
+    }
+}
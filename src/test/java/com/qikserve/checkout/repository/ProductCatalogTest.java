@@ -0,0 +1,111 @@
+package com.qikserve.checkout.repository;
+
+import com.qikserve.checkout.model.dto.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductCatalogTest {
+
+    @Mock
+    private ProductClient productClient;
+
+    @Test
+    public void refresh_WhenContentIsUnchanged_ThenKeepTheSnapshotAndItsVersion() {
+        // Given
+        var catalog = this.catalog();
+        when(productClient.fetchAll()).thenReturn(Flux.just(product(100, false)), Flux.just(product(100, false)));
+        when(productClient.fetchById("A")).thenReturn(Mono.just(product(100, false)), Mono.just(product(100, false)));
+        var first = catalog.refresh();
+
+        // When
+        var second = catalog.refresh();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(second.version()).isEqualTo(first.version());
+    }
+
+    @Test
+    public void refresh_WhenContentChanged_ThenSwapInANewVersion() {
+        // Given
+        var catalog = this.catalog();
+        when(productClient.fetchAll()).thenReturn(Flux.just(product(100, false)), Flux.just(product(120, false)));
+        when(productClient.fetchById("A")).thenReturn(Mono.just(product(100, false)), Mono.just(product(120, false)));
+        var first = catalog.refresh();
+
+        // When
+        var second = catalog.refresh();
+
+        // Then
+        assertThat(second.version()).isNotEqualTo(first.version());
+        assertThat(second.findById("A")).hasValueSatisfying(p -> assertThat(p.getPrice()).isEqualTo(120));
+        assertThat(catalog.current()).containsSame(second);
+    }
+
+    @Test
+    public void refresh_WhenAnotherInstanceLoadsTheSameContent_ThenBothAgreeOnTheVersion() {
+        // Given
+        when(productClient.fetchAll()).thenReturn(Flux.just(product(100, false)), Flux.just(product(100, false)));
+        when(productClient.fetchById("A")).thenReturn(Mono.just(product(100, false)), Mono.just(product(100, false)));
+        var first = this.catalog().refresh();
+
+        // When
+        var restarted = this.catalog().refresh();
+
+        // Then
+        assertThat(restarted).isNotSameAs(first);
+        assertThat(restarted.version()).isEqualTo(first.version()).isNotNegative();
+    }
+
+    @Test
+    public void refresh_WhenReloadIsBuiltFromStaleFallbacks_ThenKeepTheNewerSnapshot() {
+        // Given
+        var catalog = this.catalog();
+        when(productClient.fetchAll()).thenReturn(Flux.just(product(100, false)), Flux.just(product(90, true)));
+        when(productClient.fetchById("A")).thenReturn(Mono.just(product(100, false)), Mono.just(product(90, true)));
+        var first = catalog.refresh();
+
+        // When
+        var second = catalog.refresh();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(catalog.current()).hasValueSatisfying(s ->
+                assertThat(s.findById("A")).hasValueSatisfying(p -> assertThat(p.getPrice()).isEqualTo(100)));
+    }
+
+    @Test
+    public void scheduledRefresh_WhenReloadFails_ThenKeepThePreviousSnapshot() {
+        // Given
+        var catalog = this.catalog();
+        when(productClient.fetchAll())
+                .thenReturn(Flux.just(product(100, false)), Flux.error(new IllegalStateException("upstream down")));
+        when(productClient.fetchById("A")).thenReturn(Mono.just(product(100, false)));
+        catalog.afterSingletonsInstantiated();
+        var loaded = catalog.current().orElseThrow();
+
+        // When
+        catalog.scheduledRefresh();
+
+        // Then
+        assertThat(catalog.current()).containsSame(loaded);
+    }
+
+    private ProductCatalog catalog() {
+        return new ProductCatalog(productClient, true, Duration.ofSeconds(5));
+    }
+
+    private static Product product(int price, boolean stale) {
+        return Product.builder().id("A").name("Apple").price(price).stale(stale).build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.qikserve.checkout.repository;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.http.Fault;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProductClientCircuitBreakerTest {
+
+    private static final String PRODUCT_PATH = "/products/A";
+    private static final String PRODUCT_JSON = """
+            {"id": "A", "name": "Apple", "price": 100}
+            """;
+
+    private WireMockServer server;
+    private CircuitBreaker circuitBreaker;
+    private ProductClient productClient;
+
+    @BeforeEach
+    public void setup() {
+        server = new WireMockServer(wireMockConfig().dynamicPort());
+        server.start();
+        circuitBreaker = CircuitBreaker.of("products", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .slowCallRateThreshold(50)
+                .slowCallDurationThreshold(Duration.ofMillis(200))
+                .waitDurationInOpenState(Duration.ofMillis(300))
+                .permittedNumberOfCallsInHalfOpenState(2)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+        productClient = new ProductClient(WebClient.create(server.baseUrl()), circuitBreaker,
+                new SimpleMeterRegistry(), false, 1, Duration.ZERO);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void fetchById_WhenUpstreamFails_ThenOpenAndServeLastKnownGood() throws Exception {
+        // Given
+        server.stubFor(get(urlEqualTo(PRODUCT_PATH)).willReturn(okJson(PRODUCT_JSON)));
+        assertThat(productClient.fetchById("A").block()).satisfies(p -> assertThat(p.isStale()).isFalse());
+        server.stubFor(get(urlEqualTo(PRODUCT_PATH)).willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertThat(productClient.fetchById("A").block()).satisfies(p -> {
+                assertThat(p.getPrice()).isEqualTo(100);
+                assertThat(p.isStale()).isTrue();
+            });
+        }
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        var upstreamCalls = this.upstreamCalls();
+        assertThat(productClient.fetchById("A").block().isStale()).isTrue();
+        assertThat(this.upstreamCalls()).isEqualTo(upstreamCalls);
+
+        // And the half-open probes close it again once upstream recovers
+        server.stubFor(get(urlEqualTo(PRODUCT_PATH)).willReturn(okJson(PRODUCT_JSON)));
+        this.awaitState(CircuitBreaker.State.HALF_OPEN);
+        for (int i = 0; i < 2; i++) {
+            assertThat(productClient.fetchById("A").block().isStale()).isFalse();
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void fetchById_WhenUpstreamIsSlow_ThenOpen() {
+        // Given
+        server.stubFor(get(urlEqualTo(PRODUCT_PATH)).willReturn(okJson(PRODUCT_JSON).withFixedDelay(300)));
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            productClient.fetchById("A").block();
+        }
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(productClient.fetchById("A").block().isStale()).isTrue();
+    }
+
+    @Test
+    public void fetchById_WhenUpstreamFailsWithoutLastKnownGood_ThenPropagateError() {
+        // Given
+        server.stubFor(get(urlEqualTo(PRODUCT_PATH)).willReturn(aResponse().withStatus(503)));
+
+        // When & Then
+        StepVerifier.create(productClient.fetchById("A"))
+                .expectError()
+                .verify();
+    }
+
+    private long upstreamCalls() {
+        return server.countRequestsMatching(getRequestedFor(urlEqualTo(PRODUCT_PATH)).build()).getCount();
+    }
+
+    private void awaitState(CircuitBreaker.State state) throws InterruptedException {
+        for (int i = 0; i < 50 && circuitBreaker.getState() != state; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(state);
+    }
+}
@@ -0,0 +1,156 @@
+package com.qikserve.checkout.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Seeds the Testcontainers Postgres inside a rolled back transaction and checks the plans of the statements
+// the repositories send: captured from Hibernate for JPQL, shared constants for native SQL
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                     "com.qikserve.checkout.repository.CapturedSql")
+@ActiveProfiles("wiremock-client")
+@Transactional
+public class QueryPlanTest {
+
+    private static final int BASKETS = 20_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    private long basketId;
+
+    @BeforeEach
+    public void seed() {
+        // one basket in ten is open, one in ten cancelled, the rest checked out, spread over a year
+        jdbcTemplate.update("""
+                insert into baskets (status, created_at, running_total, running_promotional_total)
+                select cast(case g % 10 when 0 then 'OPEN' when 1 then 'CANCELLED' else 'CHECKED_OUT' end as basket_status),
+                       current_timestamp - (g % 365) * interval '1 day', 0, 0
+                from generate_series(1, ?) g
+                """, BASKETS);
+        jdbcTemplate.update("""
+                insert into basket_items (basket_id, product_id, quantity)
+                select b.id, p.product_id, 1
+                from baskets b cross join (values ('PWWe3w1SDU'), ('Dwt5F7KAhi'), ('C8GDyLrHJb')) p(product_id)
+                on conflict (basket_id, product_id) do nothing
+                """);
+        jdbcTemplate.update("""
+                insert into basket_summaries (basket_id, version, document)
+                select id, version, cast('{}' as jsonb) from baskets
+                on conflict (basket_id) do nothing
+                """);
+        jdbcTemplate.execute("analyze baskets, basket_items, basket_summaries");
+        basketId = jdbcTemplate.queryForObject("select max(id) from baskets where status = 'OPEN'", Long.class);
+        CapturedSql.clear();
+    }
+
+    @Test
+    public void fetchCheckoutItems_ThenUseBasketIdIndexes() throws Exception {
+        // Given
+        basketRepository.fetchCheckoutItemsById(basketId);
+
+        // When
+        var plan = this.explain(CapturedSql.last("select"), basketId);
+
+        // Then
+        assertNoSeqScan(plan, "baskets");
+        assertNoSeqScan(plan, "basket_items");
+        assertUsesIndex(plan, "basket_items_basket_id_product_id_key");
+    }
+
+    @Test
+    public void clearBasket_ThenUseBasketIdIndex() throws Exception {
+        // Given
+        basketRepository.clearBasket(basketId);
+
+        // When
+        var plan = this.explain(CapturedSql.last("delete"), basketId);
+
+        // Then
+        assertNoSeqScan(plan, "basket_items");
+        assertUsesIndex(plan, "basket_items_basket_id_product_id_key");
+    }
+
+    @Test
+    public void findOpenIdsWithTotals_ThenUseOpenIdIndex() throws Exception {
+        // Given
+        basketRepository.findOpenIdsWithTotalsAfter(0L, Limit.of(500));
+
+        // When
+        var plan = this.explain(CapturedSql.last("select"), 0L, 500);
+
+        // Then
+        assertNoSeqScan(plan, "baskets");
+        assertUsesIndex(plan, "baskets_open_id_idx");
+    }
+
+    @Test
+    public void findArchivableIds_ThenUseClosedCreatedAtIndex() throws Exception {
+        // When
+        var plan = this.explain(BasketArchiveRepository.FIND_ARCHIVABLE_IDS,
+                                Timestamp.from(Instant.now().minus(Duration.ofDays(30))), 500);
+
+        // Then
+        assertNoSeqScan(plan, "baskets");
+        assertUsesIndex(plan, "baskets_closed_created_at_idx");
+    }
+
+    @Test
+    public void findSummary_ThenUsePrimaryKeys() throws Exception {
+        // When
+        var plan = this.explain(BasketSummaryQueries.FIND_CURRENT.replace(":id", "?"), basketId);
+
+        // Then
+        assertNoSeqScan(plan, "basket_summaries");
+        assertNoSeqScan(plan, "baskets");
+        assertUsesIndex(plan, "basket_summaries_pkey");
+    }
+
+    // bound like the repositories bind them, so the planner sees the same parameter types
+    private List<JsonNode> explain(String sql, Object... args) throws Exception {
+        var json = jdbcTemplate.queryForObject("explain (format json) " + sql, String.class, args);
+        var nodes = new ArrayList<JsonNode>();
+        collect(mapper.readTree(json).get(0).get("Plan"), nodes);
+        return nodes;
+    }
+
+    private static void collect(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        node.path("Plans").forEach(child -> collect(child, nodes));
+    }
+
+    private static void assertNoSeqScan(List<JsonNode> plan, String table) {
+        assertThat(plan)
+                .as("plan of %s", table)
+                .noneMatch(node -> "Seq Scan".equals(node.path("Node Type").asText())
+                        && table.equals(node.path("Relation Name").asText()));
+    }
+
+    private static void assertUsesIndex(List<JsonNode> plan, String index) {
+        assertThat(plan)
+                .extracting(node -> node.path("Index Name").asText())
+                .contains(index);
+    }
+}
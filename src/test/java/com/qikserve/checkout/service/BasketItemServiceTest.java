@@ -4,6 +4,7 @@ import com.qikserve.checkout.exception.BasketItemNotFoundException;
 import com.qikserve.checkout.model.BasketItem;
 import com.qikserve.checkout.model.dto.Product;
 import com.qikserve.checkout.repository.BasketItemRepository;
+import com.qikserve.checkout.repository.BasketRepository;
 import com.qikserve.checkout.repository.ProductRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +30,12 @@ public class BasketItemServiceTest {
     @Mock
     private BasketItemRepository basketItemRepository;
 
+    @Mock
+    private BasketRepository basketRepository;
+
+    @Mock
+    private BasketPricingCache basketPricingCache;
+
     @InjectMocks
     private BasketService basketService;
 
@@ -62,6 +69,56 @@ public class BasketItemServiceTest {
             ));
     }
 
+    @Test
+    public void priceChange_WhenLineQuantityGrows_ThenReturnOnlyTheDifference() {
+        // Given
+        var product = Product.builder().id("A").price(1000).build();
+        var before = BasketItem.builder().productId("A").quantity(2).build();
+        var after = before.withQuantity(5);
+
+        when(productRepository.catalogVersion()).thenReturn(Optional.of(7L));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+
+        // When
+        var change = basketItemService.priceChange(List.of(before), List.of(after));
+
+        // Then
+        assertTrue(change.isPresent());
+        assertEquals(3000L, change.get().totalPrice());
+        assertEquals(3000L, change.get().promotionalPrice());
+        assertEquals(7L, change.get().catalogVersion());
+    }
+
+    @Test
+    public void priceChange_WhenProductIsUnknown_ThenReturnEmpty() {
+        // Given
+        var line = BasketItem.builder().productId("missing").quantity(1).build();
+
+        when(productRepository.catalogVersion()).thenReturn(Optional.of(7L));
+        when(productRepository.findAllById(any())).thenReturn(List.of());
+
+        // When
+        var change = basketItemService.priceChange(List.of(), List.of(line));
+
+        // Then
+        assertTrue(change.isEmpty());
+    }
+
+    @Test
+    public void priceChange_WhenThereIsNoCatalogSnapshot_ThenReturnEmptyWithoutLookingUpProducts() {
+        // Given
+        var line = BasketItem.builder().productId("A").quantity(1).build();
+
+        when(productRepository.catalogVersion()).thenReturn(Optional.empty());
+
+        // When
+        var change = basketItemService.priceChange(List.of(), List.of(line));
+
+        // Then
+        assertTrue(change.isEmpty());
+        verify(productRepository, never()).findAllById(any());
+    }
+
     @Test
     public void getBasketItem_WhenBasketItemExists_ThenReturnBasketItem() {
         // Given
@@ -97,7 +154,7 @@ public class BasketItemServiceTest {
         // Given
         var id = 1L;
         var newQuantity = 5;
-        var existing = BasketItem.builder().id(id).quantity(2).build();
+        var existing = BasketItem.builder().id(id).basketId(10L).quantity(2).build();
         var updated = existing.withQuantity(newQuantity);
         when(basketItemRepository.findById(id)).thenReturn(Optional.of(existing));
         when(basketItemRepository.save(any(BasketItem.class))).thenAnswer(i -> i.getArgument(0));
@@ -108,14 +165,14 @@ public class BasketItemServiceTest {
 
         // Then
         assertEquals(newQuantity, result.getQuantity());
-
+        verify(basketPricingCache, times(1)).invalidate(10L);
     }
 
     @Test
     void deleteBasketItem_WhenBasketItemExists_ThenDeleteBasketItem() {
         // Given
         var id = 1L;
-        var existingBasketItem = BasketItem.builder().id(id).build();
+        var existingBasketItem = BasketItem.builder().id(id).basketId(10L).build();
         when(basketItemRepository.findById(id)).thenReturn(Optional.of(existingBasketItem));
 
         // When
@@ -123,6 +180,7 @@ public class BasketItemServiceTest {
 
         // Then
         verify(basketItemRepository, times(1)).deleteById(id);
+        verify(basketPricingCache, times(1)).invalidate(10L);
     }
 
 
@@ -0,0 +1,109 @@
+package com.qikserve.checkout.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BasketPricingCacheTest {
+
+    private BasketPricingCache cache;
+    private AtomicInteger computations;
+
+    @BeforeEach
+    public void setup() {
+        cache = new BasketPricingCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        computations = new AtomicInteger();
+    }
+
+    @Test
+    public void get_WhenKeyIsUnchanged_ThenComputeOnce() {
+        // Given
+        var key = new BasketPricingCache.Key(1L, 3L, 7L);
+
+        // When
+        var first = cache.get(key, this::price);
+        var second = cache.get(key, this::price);
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    public void get_WhenBasketVersionChanged_ThenRecompute() {
+        // Given
+        cache.get(new BasketPricingCache.Key(1L, 3L, 7L), this::price);
+
+        // When
+        cache.get(new BasketPricingCache.Key(1L, 4L, 7L), this::price);
+
+        // Then
+        assertThat(computations).hasValue(2);
+        assertThat(cache.getIfPresent(new BasketPricingCache.Key(1L, 3L, 7L))).isEmpty();
+    }
+
+    @Test
+    public void get_WhenCatalogVersionChanged_ThenRecompute() {
+        // Given
+        cache.get(new BasketPricingCache.Key(1L, 3L, 7L), this::price);
+
+        // When
+        cache.get(new BasketPricingCache.Key(1L, 3L, 8L), this::price);
+
+        // Then
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    public void get_WhenBasketsDiffer_ThenKeepOneEntryEach() {
+        // Given
+        var first = new BasketPricingCache.Key(1L, 3L, 7L);
+        var second = new BasketPricingCache.Key(2L, 3L, 7L);
+
+        // When
+        cache.get(first, this::price);
+        cache.get(second, this::price);
+
+        // Then
+        assertThat(cache.getIfPresent(first)).isPresent();
+        assertThat(cache.getIfPresent(second)).isPresent();
+    }
+
+    @Test
+    public void put_WhenAnOlderBasketVersionArrivesLate_ThenKeepTheNewerEntry() {
+        // Given
+        var newer = new BasketPricingCache.Key(1L, 5L, 7L);
+        var older = new BasketPricingCache.Key(1L, 4L, 7L);
+        cache.put(newer, new BasketPricing(500L, 400L, 7L));
+
+        // When
+        cache.put(older, new BasketPricing(300L, 300L, 7L));
+
+        // Then
+        assertThat(cache.getIfPresent(newer)).contains(new BasketPricing(500L, 400L, 7L));
+        assertThat(cache.getIfPresent(older)).isEmpty();
+    }
+
+    @Test
+    public void invalidate_ThenDropTheBasketEntry() {
+        // Given
+        var key = new BasketPricingCache.Key(1L, 3L, 7L);
+        cache.get(key, this::price);
+
+        // When
+        cache.invalidate(1L);
+
+        // Then
+        assertThat(cache.getIfPresent(key)).isEmpty();
+    }
+
+    private BasketPricing price(BasketPricingCache.Key key) {
+        computations.incrementAndGet();
+        return new BasketPricing(1000L, 800L, key.catalogVersion());
+    }
+}
@@ -4,6 +4,8 @@ import com.qikserve.checkout.exception.BasketNotOpenException;
 import com.qikserve.checkout.model.Basket;
 import com.qikserve.checkout.model.BasketItem;
 import com.qikserve.checkout.model.BasketStatus;
+import com.qikserve.checkout.model.BasketTotals;
+import com.qikserve.checkout.repository.BasketArchiveRepository;
 import com.qikserve.checkout.repository.BasketItemRepository;
 import com.qikserve.checkout.repository.BasketRepository;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +19,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,8 +38,14 @@ public class BasketServiceTest {
     @Mock
     private  BasketItemRepository basketItemRepository;
 
+    @Mock
+    private BasketPricingCache basketPricingCache;
+
+    @Mock
+    private BasketArchiveRepository basketArchiveRepository;
+
     @Spy
-    private BasketItemService basketItemService = new BasketItemService( null, null);
+    private BasketItemService basketItemService = new BasketItemService( null, null, null, null);
 
     @InjectMocks
     private BasketService basketService;
@@ -67,6 +78,68 @@ public class BasketServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    public void getBasket_WhenBasketWasArchived_ThenReturnArchivedBasket() {
+        // Given
+        var basketId = 1L;
+        var basket = Basket.builder().id(basketId).status(BasketStatus.CHECKED_OUT).basketItems(List.of()).build();
+        when(basketRepository.findById(basketId)).thenReturn(Optional.empty());
+        when(basketArchiveRepository.findById(basketId)).thenReturn(Optional.of(basket));
+
+        // When
+        var result = basketService.getBasket(basketId);
+
+        // Then
+        assertEquals(Optional.of(basket), result);
+    }
+
+    @Test
+    public void getBasketSummary_WhenSummaryIsCurrent_ThenReturnItWithoutRefresh() {
+        // Given
+        var basketId = 1L;
+        var summary = "{\"id\": 1, \"status\": \"OPEN\", \"items_count\": 0, \"basket_items\": []}";
+        when(basketRepository.findSummaryById(basketId)).thenReturn(Optional.of(summary));
+
+        // When
+        var result = basketService.getBasketSummary(basketId);
+
+        // Then
+        assertEquals(Optional.of(summary), result);
+        verify(basketRepository, never()).refreshSummary(basketId);
+        verify(basketRepository, never()).findById(basketId);
+    }
+
+    @Test
+    public void getBasketSummary_WhenSummaryIsStale_ThenRefreshAndReturnIt() {
+        // Given
+        var basketId = 1L;
+        var summary = "{\"id\": 1, \"status\": \"OPEN\", \"items_count\": 0, \"basket_items\": []}";
+        when(basketRepository.findSummaryById(basketId)).thenReturn(Optional.empty(), Optional.of(summary));
+        when(basketRepository.refreshSummary(basketId)).thenReturn(1);
+
+        // When
+        var result = basketService.getBasketSummary(basketId);
+
+        // Then
+        assertEquals(Optional.of(summary), result);
+        verify(basketRepository, times(1)).refreshSummary(basketId);
+    }
+
+    @Test
+    public void getBasketSummary_WhenBasketDoesNotExist_ThenReturnEmpty() {
+        // Given
+        var basketId = 1L;
+        when(basketRepository.findSummaryById(basketId)).thenReturn(Optional.empty());
+        when(basketRepository.refreshSummary(basketId)).thenReturn(0);
+
+        // When
+        var result = basketService.getBasketSummary(basketId);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(basketRepository, times(1)).findSummaryById(basketId);
+    }
+
     @Test
     public void createBasket_ThenReturnNewBasket() {
         // Given
@@ -91,12 +164,17 @@ public class BasketServiceTest {
         var basket = Basket.builder().id(id).status(BasketStatus.OPEN).build();
 
         when(basketRepository.findById(id)).thenReturn(Optional.of(basket));
-        when(basketItemRepository.save(any(BasketItem.class))).thenReturn(basketItem);
+        when(basketItemRepository.upsert(id, "1", 1)).thenReturn(basketItem);
+        doReturn(Optional.of(new BasketPricing(250L, 200L, null))).when(basketItemService).priceChange(any(), any());
+        when(basketRepository.touchOpen(id, 250L, 200L)).thenReturn(1);
         // When
         var result = basketService.addBasketItem(basketItem);
 
         // Then
         assertEquals(basketItem, result);
+        verify(basketItemService, times(1)).priceChange(List.of(basketItem.withQuantity(0)), List.of(basketItem));
+        verify(basketRepository, times(1)).refreshSummary(id);
+        verify(basketPricingCache, times(1)).invalidate(id);
     }
 
     @Test
@@ -113,6 +191,143 @@ public class BasketServiceTest {
         assertEquals(id, e.getBasketId());
     }
 
+    @Test
+    public void addBasketItem_WhenBasketClosedConcurrently_ThenThrowException() {
+        // Given
+        var id = 1L;
+        var basketItem = BasketItem.builder().basketId(id).productId("1").quantity(1).build();
+        var basket = Basket.builder().id(id).status(BasketStatus.OPEN).version(3L).build();
+
+        when(basketRepository.findById(id)).thenReturn(Optional.of(basket));
+        when(basketItemRepository.upsert(id, "1", 1)).thenReturn(basketItem);
+        doReturn(Optional.empty()).when(basketItemService).priceChange(any(), any());
+        when(basketRepository.touchOpen(id, null, null)).thenReturn(0);
+
+        // When & Then
+        var e = assertThrows(BasketNotOpenException.class, () -> basketService.addBasketItem(basketItem));
+        assertEquals(id, e.getBasketId());
+        verify(basketPricingCache, never()).invalidate(id);
+    }
+
+    @Test
+    public void addBasketItems_WhenBasketIsOpen_ThenUpsertMergedQuantitiesInOneStatement() {
+        // Given
+        var id = 1L;
+        var items = List.of(BasketItem.builder().productId("1").quantity(1).build(),
+                            BasketItem.builder().productId("2").quantity(3).build(),
+                            BasketItem.builder().productId("1").quantity(2).build());
+        var basket = Basket.builder().id(id).status(BasketStatus.OPEN).build();
+        var merged = List.of(BasketItem.builder().id(10L).basketId(id).productId("1").quantity(3).build(),
+                             BasketItem.builder().id(11L).basketId(id).productId("2").quantity(3).build());
+
+        when(basketRepository.findById(id)).thenReturn(Optional.of(basket));
+        when(basketItemRepository.upsertAll(id, new String[]{"1", "2"}, new Integer[]{3, 3})).thenReturn(merged);
+        doReturn(Optional.of(new BasketPricing(500L, 400L, null))).when(basketItemService).priceChange(any(), any());
+        when(basketRepository.touchOpen(id, 500L, 400L)).thenReturn(1);
+
+        // When
+        var result = basketService.addBasketItems(id, items);
+
+        // Then
+        assertEquals(merged, result);
+        verify(basketItemRepository, never()).save(any());
+        verify(basketItemService, times(1)).priceChange(merged.stream().map(i -> i.withQuantity(0)).toList(), merged);
+        verify(basketPricingCache, times(1)).invalidate(id);
+    }
+
+    @Test
+    public void calculateSavings_WhenRunningTotalsAreCurrent_ThenSkipPricing() {
+        // Given
+        var id = 1L;
+        when(basketRepository.findTotalsById(id)).thenReturn(Optional.of(new BasketTotals(id, 4L, 1000L, 800L, 7L)));
+        doReturn(Optional.of(7L)).when(basketItemService).getCatalogVersion();
+
+        // When
+        var savings = basketService.calculateSavings(id);
+
+        // Then
+        assertEquals(0, new BigDecimal("10.00").compareTo(savings.getTotalPrice()));
+        assertEquals(0, new BigDecimal("2.00").compareTo(savings.getSavings()));
+        verify(basketItemService, never()).price(any());
+        verify(basketRepository, never()).fetchCheckoutItemsById(any());
+    }
+
+    @Test
+    public void calculateSavings_WhenRunningTotalsAreUnknown_ThenPriceItemsAndStoreTotals() {
+        // Given
+        var id = 1L;
+        var items = List.of(BasketItem.builder().basketId(id).productId("1").quantity(2).build());
+        var basket = Basket.builder().id(id).status(BasketStatus.OPEN).version(4L).basketItems(items).build();
+        when(basketRepository.findTotalsById(id)).thenReturn(Optional.of(new BasketTotals(id, 4L, null, null, null)));
+        when(basketRepository.fetchCheckoutItemsById(id)).thenReturn(Optional.of(basket));
+        when(basketPricingCache.get(any(), any())).thenAnswer(i -> i.<Function<BasketPricingCache.Key, BasketPricing>>getArgument(1).apply(i.getArgument(0)));
+        doReturn(Optional.of(7L)).when(basketItemService).getCatalogVersion();
+        doReturn(new BasketPricing(1000L, 800L, 7L)).when(basketItemService).price(items);
+
+        // When
+        var savings = basketService.calculateSavings(id);
+
+        // Then
+        assertEquals(0, new BigDecimal("2.00").compareTo(savings.getSavings()));
+        verify(basketRepository, times(1)).storeTotals(id, 4L, 1000L, 800L, 7L);
+    }
+
+    @Test
+    public void calculateSavings_WhenCatalogVersionIsUnknown_ThenPriceItemsWithoutStoringTotals() {
+        // Given
+        var id = 1L;
+        var items = List.of(BasketItem.builder().basketId(id).productId("1").quantity(2).build());
+        var basket = Basket.builder().id(id).status(BasketStatus.OPEN).version(4L).basketItems(items).build();
+        when(basketRepository.findTotalsById(id)).thenReturn(Optional.of(new BasketTotals(id, 4L, 500L, 400L, null)));
+        when(basketRepository.fetchCheckoutItemsById(id)).thenReturn(Optional.of(basket));
+        when(basketPricingCache.get(any(), any())).thenAnswer(i -> i.<Function<BasketPricingCache.Key, BasketPricing>>getArgument(1).apply(i.getArgument(0)));
+        doReturn(Optional.empty()).when(basketItemService).getCatalogVersion();
+        doReturn(new BasketPricing(1000L, 800L, null)).when(basketItemService).price(items);
+
+        // When
+        var savings = basketService.calculateSavings(id);
+
+        // Then
+        assertEquals(0, new BigDecimal("10.00").compareTo(savings.getTotalPrice()));
+        verify(basketRepository, never()).storeTotals(any(), any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    public void checkout_WhenRunningTotalsAreCurrent_ThenPriceItemsAnyway() {
+        // Given
+        var id = 1L;
+        var items = List.of(BasketItem.builder().basketId(id).productId("1").quantity(2).build());
+        var basket = Basket.builder().id(id).status(BasketStatus.OPEN).version(4L).basketItems(items)
+                .runningTotal(500L).runningPromotionalTotal(400L).runningCatalogVersion(7L).build();
+        when(basketRepository.fetchCheckoutItemsById(id)).thenReturn(Optional.of(basket));
+        when(basketRepository.save(basket)).thenReturn(basket);
+        doReturn(new BasketPricing(1000L, 800L, 7L)).when(basketItemService).price(items);
+
+        // When
+        var checkedOut = basketService.checkout(id);
+
+        // Then
+        assertEquals(BasketStatus.CHECKED_OUT, checkedOut.getStatus());
+        assertEquals(0, new BigDecimal("10.00").compareTo(checkedOut.getTotal()));
+        verify(basketPricingCache, never()).get(any(), any());
+        verify(basketPricingCache, times(1)).invalidate(id);
+    }
+
+    @Test
+    public void addBasketItems_WhenBasketIsNotOpen_ThenThrowException() {
+        // Given
+        var id = 1L;
+        var items = List.of(BasketItem.builder().productId("1").quantity(1).build());
+        var basket = Basket.builder().id(id).status(BasketStatus.CHECKED_OUT).build();
+
+        when(basketRepository.findById(id)).thenReturn(Optional.of(basket));
+
+        // When & Then
+        var e = assertThrows(BasketNotOpenException.class, () -> basketService.addBasketItems(id, items));
+        assertEquals(id, e.getBasketId());
+        verify(basketItemRepository, never()).upsertAll(any(), any(), any());
+    }
+
     @Test
     public void cancelBasket_WhenBasketExists_ThenUpdateStatus() {
         // Given
@@ -127,6 +342,7 @@ public class BasketServiceTest {
         // Then
         assertEquals(BasketStatus.CANCELLED, basket.getStatus());
         verify(basketRepository, times(1)).save(basket);
+        verify(basketPricingCache, times(1)).invalidate(basketId);
     }
 
 
@@ -140,6 +356,7 @@ public class BasketServiceTest {
 
         // Then
         verify(basketRepository, times(1)).clearBasket(basketId);
+        verify(basketPricingCache, times(1)).invalidate(basketId);
     }
 
     @Test
@@ -0,0 +1,135 @@
+package com.qikserve.checkout.service;
+
+import com.qikserve.checkout.model.IdempotentResponse;
+import com.qikserve.checkout.repository.IdempotencyKeyRepository;
+import com.qikserve.checkout.service.IdempotencyService.Acquisition.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+
+    private static final String KEY = "POST /baskets/1/checkout abc";
+    private static final String HASH = "a".repeat(64);
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyKeyRepository, new SimpleMeterRegistry(), 100,
+                                                    Duration.ofMinutes(10), Duration.ofSeconds(5),
+                                                    Duration.ofSeconds(30), Duration.ofHours(24));
+    }
+
+    @Test
+    void acquire_WhenKeyWasCompleted_ThenReplayFromMemory() {
+        // Given
+        var response = new IdempotentResponse(HASH, 200, "application/json", null, "{}".getBytes());
+        when(idempotencyKeyRepository.claim(eq(KEY), eq(HASH), any(), any())).thenReturn(true);
+        assertEquals(State.OWNED, idempotencyService.acquire(KEY, HASH).state());
+        idempotencyService.complete(KEY, response);
+
+        // When
+        var replayed = idempotencyService.acquire(KEY, HASH);
+
+        // Then
+        assertEquals(State.REPLAY, replayed.state());
+        assertSame(response, replayed.response());
+        verify(idempotencyKeyRepository, times(1)).claim(eq(KEY), eq(HASH), any(), any());
+        verify(idempotencyKeyRepository, never()).findCompleted(KEY);
+    }
+
+    @Test
+    void acquire_WhenAnotherInstanceIsRunningTheKey_ThenInProgress() {
+        // Given
+        when(idempotencyKeyRepository.claim(eq(KEY), eq(HASH), any(), any())).thenReturn(false);
+        when(idempotencyKeyRepository.findCompleted(KEY)).thenReturn(Optional.empty());
+
+        // When
+        var acquisition = idempotencyService.acquire(KEY, HASH);
+
+        // Then
+        assertEquals(State.IN_PROGRESS, acquisition.state());
+    }
+
+    @Test
+    void acquire_WhenDuplicateArrivesWhileRunning_ThenWaitForFirstAndReplay() throws Exception {
+        // Given
+        var response = new IdempotentResponse(HASH, 200, "application/json", null, "{}".getBytes());
+        when(idempotencyKeyRepository.claim(eq(KEY), eq(HASH), any(), any())).thenReturn(true);
+        assertEquals(State.OWNED, idempotencyService.acquire(KEY, HASH).state());
+
+        // When
+        var duplicate = CompletableFuture.supplyAsync(() -> idempotencyService.acquire(KEY, HASH));
+        idempotencyService.complete(KEY, response);
+
+        // Then
+        var acquisition = duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals(State.REPLAY, acquisition.state());
+        assertSame(response, acquisition.response());
+        verify(idempotencyKeyRepository, times(1)).claim(eq(KEY), eq(HASH), any(), any());
+    }
+
+    @Test
+    void acquire_WhenFirstRequestWasAbandoned_ThenKeyCanBeTakenOver() {
+        // Given
+        when(idempotencyKeyRepository.claim(eq(KEY), eq(HASH), any(), any())).thenReturn(true);
+        assertEquals(State.OWNED, idempotencyService.acquire(KEY, HASH).state());
+        idempotencyService.abandon(KEY);
+
+        // When
+        var acquisition = idempotencyService.acquire(KEY, HASH);
+
+        // Then
+        assertEquals(State.OWNED, acquisition.state());
+        verify(idempotencyKeyRepository, times(1)).release(KEY);
+    }
+
+    @Test
+    void acquire_WhenKeyIsReusedWithAnotherBody_ThenMismatch() {
+        // Given
+        var response = new IdempotentResponse(HASH, 200, "application/json", null, "{}".getBytes());
+        when(idempotencyKeyRepository.claim(eq(KEY), eq(HASH), any(), any())).thenReturn(true);
+        assertEquals(State.OWNED, idempotencyService.acquire(KEY, HASH).state());
+        idempotencyService.complete(KEY, response);
+
+        // When
+        var acquisition = idempotencyService.acquire(KEY, "b".repeat(64));
+
+        // Then
+        assertEquals(State.MISMATCH, acquisition.state());
+        assertNull(acquisition.response());
+    }
+
+    @Test
+    void acquire_WhenAnotherInstanceCompletedTheKeyWithAnotherBody_ThenMismatch() {
+        // Given
+        var otherHash = "b".repeat(64);
+        when(idempotencyKeyRepository.claim(eq(KEY), eq(otherHash), any(), any())).thenReturn(false);
+        when(idempotencyKeyRepository.findCompleted(KEY))
+                .thenReturn(Optional.of(new IdempotentResponse(HASH, 201, "application/json", null, "{}".getBytes())));
+
+        // When
+        var acquisition = idempotencyService.acquire(KEY, otherHash);
+
+        // Then
+        assertEquals(State.MISMATCH, acquisition.state());
+    }
+}
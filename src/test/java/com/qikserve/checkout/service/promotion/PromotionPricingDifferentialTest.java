@@ -0,0 +1,167 @@
+package com.qikserve.checkout.service.promotion;
+
+import com.qikserve.checkout.model.dto.BuyXGetYFree;
+import com.qikserve.checkout.model.dto.FlatPercent;
+import com.qikserve.checkout.model.dto.Product;
+import com.qikserve.checkout.model.dto.Promotion;
+import com.qikserve.checkout.model.dto.QtyBasedPriceOverride;
+import com.qikserve.checkout.service.factory.PromotionStrategyFactory;
+import com.qikserve.checkout.util.PenceUtils;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the long based pricing engine against the BigDecimal implementation it replaced.
+ */
+public class PromotionPricingDifferentialTest {
+
+    private static final int[] PRICES = {0, 1, 49, 50, 51, 99, 199, 499, 999, 1099, 1799, 99_999};
+    private static final int[] QUANTITIES = {0, 1, 2, 3, 4, 5, 7, 10, 33, 99, 100, 1_000, 65_535};
+    private static final int[] PERCENTS = {0, 1, 5, 10, 15, 25, 33, 49, 50, 51, 66, 75, 99, 100, 101, 150, -10};
+    private static final int[] REQUIRED_QUANTITIES = {0, 1, 2, 3, 5, 10};
+
+    @Test
+    public void flatPercent_MatchesBigDecimalForAllCombinations() {
+        for (int percent : PERCENTS) {
+            var promotion = FlatPercent.builder().amount(percent).build();
+            var strategy = new FlatPercentStrategy(promotion);
+            for (int price : PRICES) {
+                for (int quantity : QUANTITIES) {
+                    assertThat(BigDecimal.valueOf(strategy.applyPromotion(quantity, price)))
+                            .as("FLAT_PERCENT %d%% of %d x %d", percent, quantity, price)
+                            .isEqualTo(Legacy.apply(promotion, quantity, price));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void buyXGetYFree_MatchesBigDecimalForAllCombinations() {
+        for (int required : REQUIRED_QUANTITIES) {
+            var promotion = BuyXGetYFree.builder().requiredQty(required).freeQty(1).build();
+            var strategy = new BuyXGetYFreeStrategy(promotion);
+            for (int price : PRICES) {
+                for (int quantity : QUANTITIES) {
+                    assertThat(BigDecimal.valueOf(strategy.applyPromotion(quantity, price)))
+                            .as("BUY_X_GET_Y_FREE x=%d of %d x %d", required, quantity, price)
+                            .isEqualTo(Legacy.apply(promotion, quantity, price));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void qtyBasedPriceOverride_MatchesBigDecimalForAllCombinations() {
+        for (int required : REQUIRED_QUANTITIES) {
+            for (int overridePrice : PRICES) {
+                var promotion = QtyBasedPriceOverride.builder().requiredQty(required).price(overridePrice).build();
+                var strategy = new QtyBasedPriceOverrideStrategy(promotion);
+                for (int price : PRICES) {
+                    for (int quantity : QUANTITIES) {
+                        assertThat(BigDecimal.valueOf(strategy.applyPromotion(quantity, price)))
+                                .as("QTY_BASED_PRICE_OVERRIDE x=%d for %d of %d x %d", required, overridePrice, quantity, price)
+                                .isEqualTo(Legacy.apply(promotion, quantity, price));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void applyPromotions_MatchesBigDecimalForRandomProducts() {
+        var random = new Random(20241118L);
+        for (int i = 0; i < 20_000; i++) {
+            var product = randomProduct(random);
+            var quantity = random.nextInt(500);
+            var expected = Legacy.applyPromotions(product, quantity);
+
+            var actual = PromotionStrategyFactory.applyPromotions(product, quantity);
+
+            assertThat(BigDecimal.valueOf(actual)).as("%s x %d", product, quantity).isEqualTo(expected);
+            assertThat(PenceUtils.toPounds(actual)).isEqualTo(Legacy.toPounds(expected));
+        }
+    }
+
+    @Test
+    public void computeTotal_MatchesBigDecimal() {
+        for (int price : PRICES) {
+            for (int quantity : QUANTITIES) {
+                var expected = BigDecimal.valueOf(price).multiply(BigDecimal.valueOf(quantity));
+                assertThat(BigDecimal.valueOf(PenceUtils.computeTotal(quantity, price))).isEqualTo(expected);
+                assertThat(PenceUtils.toPounds(PenceUtils.computeTotal(quantity, price))).isEqualTo(Legacy.toPounds(expected));
+            }
+        }
+    }
+
+    @Test
+    public void divideHalfUp_MatchesRoundingModeHalfUp() {
+        for (long dividend = -1_000; dividend <= 1_000; dividend++) {
+            var expected = BigDecimal.valueOf(dividend).divide(BigDecimal.valueOf(100), 0, RoundingMode.HALF_UP);
+            assertThat(PenceUtils.divideHalfUp(dividend, 100)).as("%d / 100", dividend).isEqualTo(expected.longValueExact());
+        }
+    }
+
+    private static Product randomProduct(Random random) {
+        var promotions = new ArrayList<Promotion>();
+        var count = random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            promotions.add(switch (random.nextInt(3)) {
+                case 0 -> FlatPercent.builder().amount(random.nextInt(101)).build();
+                case 1 -> BuyXGetYFree.builder().requiredQty(random.nextInt(6)).freeQty(1).build();
+                default -> QtyBasedPriceOverride.builder().requiredQty(random.nextInt(6)).price(random.nextInt(5_000)).build();
+            });
+        }
+        return Product.builder()
+                .id("P" + random.nextInt(1_000))
+                .price(random.nextInt(10_000))
+                .promotions(List.copyOf(promotions))
+                .build();
+    }
+
+    // Verbatim copy of the BigDecimal pricing that shipped before the long based engine
+    private static final class Legacy {
+
+        static BigDecimal toPounds(BigDecimal value) {
+            return value.divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        }
+
+        static BigDecimal computeTotal(int quantity, int priceInPence) {
+            return BigDecimal.valueOf(priceInPence).multiply(BigDecimal.valueOf(quantity));
+        }
+
+        static BigDecimal applyPromotions(Product product, int quantity) {
+            var promotions = product.getPromotions();
+            if (promotions == null || promotions.isEmpty()) {
+                return computeTotal(quantity, product.getPrice());
+            }
+            return promotions.stream()
+                    .map(promotion -> apply(promotion, quantity, product.getPrice()))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+
+        static BigDecimal apply(Promotion promotion, int quantity, int priceInPence) {
+            return switch (promotion) {
+                case BuyXGetYFree p -> quantity >= p.getRequiredQty()
+                        ? BigDecimal.valueOf(priceInPence).multiply(BigDecimal.valueOf(Integer.max(0, quantity - p.getRequiredQty())))
+                        : computeTotal(quantity, priceInPence);
+                case QtyBasedPriceOverride p -> quantity >= p.getRequiredQty()
+                        ? BigDecimal.valueOf(priceInPence).multiply(BigDecimal.valueOf(quantity - p.getRequiredQty()))
+                                .add(BigDecimal.valueOf(p.getPrice()))
+                        : computeTotal(quantity, priceInPence);
+                case FlatPercent p -> {
+                    var percent = BigDecimal.valueOf(p.getAmount()).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+                    var factor = BigDecimal.valueOf(quantity).multiply(BigDecimal.ONE.subtract(percent));
+                    yield BigDecimal.valueOf(priceInPence).multiply(factor).setScale(0, RoundingMode.HALF_UP);
+                }
+                default -> throw new IllegalArgumentException("Unknown promotion " + promotion);
+            };
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.qikserve.checkout.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTest {
+
+    @Test
+    public void execute_WhenCallsOverlap_ThenUpstreamIsCalledOnce() {
+        // Given
+        var singleFlight = new SingleFlight<String, String>("test", new SimpleMeterRegistry());
+        var upstream = Sinks.<String>one();
+        var calls = new AtomicInteger();
+
+        // When
+        var first = singleFlight.execute("A", k -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+        var second = singleFlight.execute("A", k -> {
+            calls.incrementAndGet();
+            return Mono.just("other");
+        });
+        var firstResult = first.toFuture();
+        var secondResult = second.toFuture();
+        upstream.tryEmitValue("value");
+
+        // Then
+        assertThat(firstResult.join()).isEqualTo("value");
+        assertThat(secondResult.join()).isEqualTo("value");
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.collapsedCount()).isEqualTo(1.0);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    public void execute_WhenPreviousCallCompleted_ThenUpstreamIsCalledAgain() {
+        // Given
+        var singleFlight = new SingleFlight<String, String>("test", new SimpleMeterRegistry());
+        var calls = new AtomicInteger();
+
+        // When
+        StepVerifier.create(singleFlight.execute("A", k -> Mono.fromCallable(() -> k + calls.incrementAndGet())))
+                .expectNext("A1")
+                .verifyComplete();
+        StepVerifier.create(singleFlight.execute("A", k -> Mono.fromCallable(() -> k + calls.incrementAndGet())))
+                .expectNext("A2")
+                .verifyComplete();
+
+        // Then
+        assertThat(singleFlight.collapsedCount()).isZero();
+    }
+
+    @Test
+    public void execute_WhenUpstreamIsEmpty_ThenAllCallersCompleteEmpty() {
+        // Given
+        var singleFlight = new SingleFlight<String, String>("test", new SimpleMeterRegistry());
+
+        // When & Then
+        StepVerifier.create(singleFlight.execute("A", k -> Mono.empty()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void execute_WhenCallThrows_ThenCallerFailsAndKeyIsReleased() {
+        // Given
+        var singleFlight = new SingleFlight<String, String>("test", new SimpleMeterRegistry());
+
+        // When
+        StepVerifier.create(singleFlight.execute("A", k -> {
+                    throw new IllegalStateException("boom");
+                }))
+                .expectErrorMessage("boom")
+                .verify();
+
+        // Then
+        assertThat(singleFlight.inFlightCount()).isZero();
+        StepVerifier.create(singleFlight.execute("A", k -> Mono.just("value")))
+                .expectNext("value")
+                .verifyComplete();
+    }
+}